@@ -1,13 +1,30 @@
 package com.asm.b2btools.smbp;
 
 import com.asm.b2btools.smbp.exception.SMBPException;
+import com.asm.b2btools.smbp.model.IngestStats;
+import com.asm.b2btools.smbp.model.LeaseStats;
+import com.asm.b2btools.smbp.model.MetadataStats;
+import com.asm.b2btools.smbp.model.PollCycleStats;
+import com.asm.b2btools.smbp.model.RampLevelStats;
 import com.asm.b2btools.smbp.model.SMBConfig;
 import com.asm.b2btools.smbp.model.SMBStats;
+import com.asm.b2btools.smbp.model.WatchStats;
+import com.asm.b2btools.smbp.telemetry.JvmTelemetrySampler;
+import com.asm.b2btools.smbp.telemetry.FlightRecording;
+import com.asm.b2btools.smbp.telemetry.JfrSupport;
 import com.asm.b2btools.smbp.utils.ReportGenerator;
+import com.asm.b2btools.smbp.workload.IngestWorkload;
+import com.asm.b2btools.smbp.workload.LeaseWorkload;
+import com.asm.b2btools.smbp.workload.MetadataWorkload;
+import com.asm.b2btools.smbp.workload.PollerWorkload;
+import com.asm.b2btools.smbp.workload.RampWorkload;
+import com.asm.b2btools.smbp.workload.WatchWorkload;
+
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.imageio.ImageIO;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.file.Files;
@@ -15,8 +32,10 @@ import java.nio.file.Paths;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Properties;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * The SMBProfiler class is the entry point of the SMBProfiler Application.
@@ -32,6 +51,16 @@ public class SMBProfiler {
 
     private static final String VERSION = System.getProperty("smbp.version") != null ? System.getProperty("smbp.version") : "V2_3";
 
+    private static final String WORKLOAD = System.getProperty("smbp.workload") != null ? System.getProperty("smbp.workload") : "profile";
+
+    private static final List<String> WORKLOADS = Arrays.asList("profile", "poller", "watch", "ramp", "ingest", "metadata", "lease");
+
+    private static final long TELEMETRY_INTERVAL = System.getProperty("smbp.telemetry.interval_ms") != null ? Long.parseLong(System.getProperty("smbp.telemetry.interval_ms")) : 500;
+
+    private static final AtomicBoolean TELEMETRY_FINISHED = new AtomicBoolean(false);
+
+    private static final boolean JFR_RECORDING = Boolean.parseBoolean(System.getProperty("smbp.jfr"));
+
     private static final String SMB_SERVER_ADDRESS_KEY = "smb.server_address";
     private static final String SMB_USERNAME_KEY = "smb.username";
     private static final String SMB_PASSWORD_KEY = "smb.password";
@@ -55,15 +84,78 @@ public class SMBProfiler {
             System.exit(-1);
         }
 
+        if (!WORKLOADS.contains(WORKLOAD.toLowerCase())) {
+            logger.error("Unknown workload: " + WORKLOAD);
+            logger.info("Supported workloads: " + WORKLOADS);
+            System.exit(-1);
+        }
+
         String PROPS_FILE = args[0];
 
         logger.debug("Building SMBConfig object");
         SMBConfig smbConfig = loadSMBProperties(PROPS_FILE);
         logger.debug("SMBConfig object built successfully.\n" + smbConfig);
 
-        logger.info("Starting SMBProfiler" + VERSION.toUpperCase());
+        logger.info("Starting SMBProfiler" + VERSION.toUpperCase() + " with workload " + WORKLOAD);
         long startTime = System.currentTimeMillis();
         String statsFile = getFileName();
+        FlightRecording recording = null;
+        if (JFR_RECORDING) {
+            if (JfrSupport.isAvailable()) {
+                recording = FlightRecording.start(statsFile.substring(0, statsFile.length() - 4) + ".jfr");
+            } else {
+                logger.warn("smbp.jfr is set but this JVM has no JDK Flight Recorder, continuing without a recording");
+            }
+        }
+        JvmTelemetrySampler sampler = new JvmTelemetrySampler(TELEMETRY_INTERVAL);
+        sampler.start();
+        // Workload failures end in System.exit through handleException, the hook still writes the telemetry and the recording
+        FlightRecording runRecording = recording;
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            // The ImageIO disk cache registers a shutdown hook of its own, which is refused once shutdown started
+            ImageIO.setUseCache(false);
+            try {
+                finishTelemetry(sampler, runRecording, null, statsFile);
+            } catch (SMBPException e) {
+                logger.error("Could not write the telemetry report on shutdown", e);
+            }
+        }, "smbp-telemetry-shutdown"));
+        List<SMBStats> statsList = null;
+        if (WORKLOAD.equalsIgnoreCase("poller")) {
+            runPoller(smbConfig, statsFile);
+        } else if (WORKLOAD.equalsIgnoreCase("watch")) {
+            runWatch(smbConfig, statsFile);
+        } else if (WORKLOAD.equalsIgnoreCase("ramp")) {
+            runRamp(smbConfig, statsFile);
+        } else if (WORKLOAD.equalsIgnoreCase("ingest")) {
+            runIngest(smbConfig, statsFile);
+        } else if (WORKLOAD.equalsIgnoreCase("metadata")) {
+            runMetadata(smbConfig, statsFile);
+        } else if (WORKLOAD.equalsIgnoreCase("lease")) {
+            runLease(smbConfig, statsFile);
+        } else if (WORKLOAD.equalsIgnoreCase("profile")) {
+            statsList = runProfile(smbConfig, statsFile);
+        }
+        try {
+            finishTelemetry(sampler, recording, statsList, statsFile);
+        } catch (SMBPException e) {
+            handleException(e);
+        }
+        long endTime = System.currentTimeMillis() - startTime;
+        logger.info("Profling completed, total duration: " + endTime + "ms");
+        System.out.println("Profiling done, exiting...");
+
+    }
+
+    /**
+     * Runs the default workload: profiles the exists/isDirectory/length calls for the configured number of
+     * iterations and generates the operations report.
+     * @param smbConfig The SMB configuration.
+     * @param statsFile The file path where the report will be generated.
+     * @return The SMBStats of every iteration.
+     * @throws InterruptedException Thrown if the thread sleep is interrupted.
+     */
+    private static List<SMBStats> runProfile(SMBConfig smbConfig, String statsFile) throws InterruptedException {
         List<SMBStats> statsList = new ArrayList<>();
         for (int i = 1; i <= ITERATIONS; i++) {
             SMBStats stats = null;
@@ -82,10 +174,111 @@ public class SMBProfiler {
         } catch (SMBPException e) {
             handleException(e);
         }
-        long endTime = System.currentTimeMillis() - startTime;
-        logger.info("Profling completed, total duration: " + endTime + "ms");
-        System.out.println("Profiling done, exiting...");
+        return statsList;
+    }
+
+    /**
+     * Runs the poller workload, which walks the smb.dir_name tree in poll cycles, and generates the poller report.
+     * @param smbConfig The SMB configuration.
+     * @param statsFile The file path where the report will be generated.
+     */
+    private static void runPoller(SMBConfig smbConfig, String statsFile) {
+        try {
+            List<PollCycleStats> cycleStats = PollerWorkload.run(smbConfig);
+            ReportGenerator.generatePollerReport(cycleStats, statsFile);
+        } catch (SMBPException e) {
+            handleException(e);
+        }
+    }
+
+    /**
+     * Runs the watch workload, which compares CHANGE_NOTIFY against polling, and generates the watch report.
+     * @param smbConfig The SMB configuration.
+     * @param statsFile The file path where the report will be generated.
+     */
+    private static void runWatch(SMBConfig smbConfig, String statsFile) {
+        try {
+            List<WatchStats> watchStats = WatchWorkload.run(smbConfig);
+            ReportGenerator.generateWatchReport(watchStats, statsFile);
+        } catch (SMBPException e) {
+            handleException(e);
+        }
+    }
+
+    /**
+     * Runs the concurrency ramp, which records the recommended max concurrency in the SMBConfig, and generates the ramp report.
+     * @param smbConfig The SMB configuration.
+     * @param statsFile The file path where the report will be generated.
+     */
+    private static void runRamp(SMBConfig smbConfig, String statsFile) {
+        try {
+            List<RampLevelStats> levels = RampWorkload.run(smbConfig, VERSION);
+            ReportGenerator.generateRampReport(levels, smbConfig.getRECOMMENDED_MAX_CONCURRENCY(), statsFile);
+        } catch (SMBPException e) {
+            handleException(e);
+        }
+    }
+
+    /**
+     * Runs the small-file ingest workload through smbj and jcifs and generates the ingest report.
+     * @param smbConfig The SMB configuration.
+     * @param statsFile The file path where the report will be generated.
+     */
+    private static void runIngest(SMBConfig smbConfig, String statsFile) {
+        try {
+            List<IngestStats> ingestStats = IngestWorkload.run(smbConfig);
+            ReportGenerator.generateIngestReport(ingestStats, statsFile);
+        } catch (SMBPException e) {
+            handleException(e);
+        }
+    }
 
+    /**
+     * Runs the metadata workload comparing the per-call checks with the single-open metadata path and generates the metadata report.
+     * @param smbConfig The SMB configuration.
+     * @param statsFile The file path where the report will be generated.
+     */
+    private static void runMetadata(SMBConfig smbConfig, String statsFile) {
+        try {
+            List<MetadataStats> metadataStats = MetadataWorkload.run(smbConfig);
+            ReportGenerator.generateMetadataReport(metadataStats, statsFile);
+        } catch (SMBPException e) {
+            handleException(e);
+        }
+    }
+
+    /**
+     * Runs the lease workload re-reading files with and without client-side caching and generates the lease report.
+     * @param smbConfig The SMB configuration.
+     * @param statsFile The file path where the report will be generated.
+     */
+    private static void runLease(SMBConfig smbConfig, String statsFile) {
+        try {
+            List<LeaseStats> leaseStats = LeaseWorkload.run(smbConfig);
+            ReportGenerator.generateLeaseReport(leaseStats, statsFile);
+        } catch (SMBPException e) {
+            handleException(e);
+        }
+    }
+
+    /**
+     * Stops the JVM sampler and the JFR recording and generates the telemetry report, once per run: either at the end
+     * of the workload or from the shutdown hook when the workload ended the JVM early.
+     * @param sampler The running JVM sampler.
+     * @param recording The running JFR recording, or null if none was started.
+     * @param statsList The SMBStats of the profile run, or null for other workloads and failed runs.
+     * @param statsFile The file path where the telemetry report will be generated.
+     * @throws SMBPException Thrown if an error occurs during report generation.
+     */
+    private static void finishTelemetry(JvmTelemetrySampler sampler, FlightRecording recording, List<SMBStats> statsList, String statsFile) throws SMBPException {
+        if (!TELEMETRY_FINISHED.compareAndSet(false, true)) {
+            return;
+        }
+        sampler.stop();
+        if (recording != null) {
+            recording.stop();
+        }
+        ReportGenerator.generateTelemetryReport(sampler.getSamples(), sampler.getGcPauses(), statsList, statsFile);
     }
 
     /**
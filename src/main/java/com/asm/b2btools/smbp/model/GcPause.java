@@ -0,0 +1,60 @@
+package com.asm.b2btools.smbp.model;
+
+/**
+ * The GcPause class represents a single garbage collection pause observed while profiling.
+ * Start time is in epoch milliseconds so it can be compared with the start time of SMB operations.
+ * @since 19-10-2026
+ */
+public class GcPause {
+    private String gc_name;
+    private String gc_cause;
+    private long start_time;
+    private long duration;
+
+    public GcPause(String gc_name, String gc_cause, long start_time, long duration) {
+        this.gc_name = gc_name;
+        this.gc_cause = gc_cause;
+        this.start_time = start_time;
+        this.duration = duration;
+    }
+
+    public String getGc_name() {
+        return gc_name;
+    }
+
+    public String getGc_cause() {
+        return gc_cause;
+    }
+
+    public long getStart_time() {
+        return start_time;
+    }
+
+    public long getDuration() {
+        return duration;
+    }
+
+    public long getEnd_time() {
+        return start_time + duration;
+    }
+
+    /**
+     * Checks if the pause overlaps the given time window.
+     * @param windowStart Start of the window in epoch milliseconds.
+     * @param windowEnd End of the window in epoch milliseconds.
+     * @return True if any part of the pause falls inside the window.
+     */
+    public boolean overlaps(long windowStart, long windowEnd) {
+        return start_time <= windowEnd && getEnd_time() >= windowStart;
+    }
+
+    @Override
+    public String toString() {
+        return "GcPause{" +
+                "gc_name='" + gc_name + '\'' +
+                ", gc_cause='" + gc_cause + '\'' +
+                ", start_time=" + start_time +
+                ", duration=" + duration +
+                '}';
+    }
+}
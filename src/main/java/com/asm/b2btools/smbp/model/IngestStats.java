@@ -0,0 +1,107 @@
+package com.asm.b2btools.smbp.model;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The IngestStats class represents statistics for the small-file ingest workload of one SMB library, including
+ * files/sec and the latency of every phase of a file (create, write, flush, close, rename) in microseconds.
+ * Phase maps keep the order in which the phases happen; a phase the library cannot perform maps to null.
+ * @since 19-10-2026
+ */
+public class IngestStats {
+    private String library;
+    private long files;
+    private long failed_files;
+    private long bytes_written;
+    private long time_taken;
+    private double files_per_sec;
+    private Map<String, Long> avg_phase_latency = new LinkedHashMap<>();
+    private Map<String, Long> p99_phase_latency = new LinkedHashMap<>();
+
+    public IngestStats() {
+
+    }
+
+    public IngestStats(String library) {
+        this.library = library;
+    }
+
+    public String getLibrary() {
+        return library;
+    }
+
+    public void setLibrary(String library) {
+        this.library = library;
+    }
+
+    public long getFiles() {
+        return files;
+    }
+
+    public void setFiles(long files) {
+        this.files = files;
+    }
+
+    public long getFailed_files() {
+        return failed_files;
+    }
+
+    public void setFailed_files(long failed_files) {
+        this.failed_files = failed_files;
+    }
+
+    public long getBytes_written() {
+        return bytes_written;
+    }
+
+    public void setBytes_written(long bytes_written) {
+        this.bytes_written = bytes_written;
+    }
+
+    public long getTime_taken() {
+        return time_taken;
+    }
+
+    public void setTime_taken(long time_taken) {
+        this.time_taken = time_taken;
+    }
+
+    public double getFiles_per_sec() {
+        return files_per_sec;
+    }
+
+    public void setFiles_per_sec(double files_per_sec) {
+        this.files_per_sec = files_per_sec;
+    }
+
+    public Map<String, Long> getAvg_phase_latency() {
+        return avg_phase_latency;
+    }
+
+    public void setAvg_phase_latency(Map<String, Long> avg_phase_latency) {
+        this.avg_phase_latency = avg_phase_latency;
+    }
+
+    public Map<String, Long> getP99_phase_latency() {
+        return p99_phase_latency;
+    }
+
+    public void setP99_phase_latency(Map<String, Long> p99_phase_latency) {
+        this.p99_phase_latency = p99_phase_latency;
+    }
+
+    @Override
+    public String toString() {
+        return "IngestStats{" +
+                "library='" + library + '\'' +
+                ", files=" + files +
+                ", failed_files=" + failed_files +
+                ", bytes_written=" + bytes_written +
+                ", time_taken=" + time_taken +
+                ", files_per_sec=" + files_per_sec +
+                ", avg_phase_latency=" + avg_phase_latency +
+                ", p99_phase_latency=" + p99_phase_latency +
+                '}';
+    }
+}
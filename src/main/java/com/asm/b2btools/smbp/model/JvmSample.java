@@ -0,0 +1,85 @@
+package com.asm.b2btools.smbp.model;
+
+/**
+ * The JvmSample class represents a point-in-time sample of the profiler's own JVM: heap usage, allocation rate,
+ * process CPU load and cumulative GC activity.
+ * @since 19-10-2026
+ */
+public class JvmSample {
+    private long timestamp;
+    private long heap_used;
+    private long heap_committed;
+    private long allocation_rate;
+    private double process_cpu_load;
+    private long gc_count;
+    private long gc_time;
+
+    public JvmSample(long timestamp) {
+        this.timestamp = timestamp;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public long getHeap_used() {
+        return heap_used;
+    }
+
+    public void setHeap_used(long heap_used) {
+        this.heap_used = heap_used;
+    }
+
+    public long getHeap_committed() {
+        return heap_committed;
+    }
+
+    public void setHeap_committed(long heap_committed) {
+        this.heap_committed = heap_committed;
+    }
+
+    public long getAllocation_rate() {
+        return allocation_rate;
+    }
+
+    public void setAllocation_rate(long allocation_rate) {
+        this.allocation_rate = allocation_rate;
+    }
+
+    public double getProcess_cpu_load() {
+        return process_cpu_load;
+    }
+
+    public void setProcess_cpu_load(double process_cpu_load) {
+        this.process_cpu_load = process_cpu_load;
+    }
+
+    public long getGc_count() {
+        return gc_count;
+    }
+
+    public void setGc_count(long gc_count) {
+        this.gc_count = gc_count;
+    }
+
+    public long getGc_time() {
+        return gc_time;
+    }
+
+    public void setGc_time(long gc_time) {
+        this.gc_time = gc_time;
+    }
+
+    @Override
+    public String toString() {
+        return "JvmSample{" +
+                "timestamp=" + timestamp +
+                ", heap_used=" + heap_used +
+                ", heap_committed=" + heap_committed +
+                ", allocation_rate=" + allocation_rate +
+                ", process_cpu_load=" + process_cpu_load +
+                ", gc_count=" + gc_count +
+                ", gc_time=" + gc_time +
+                '}';
+    }
+}
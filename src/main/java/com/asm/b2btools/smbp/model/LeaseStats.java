@@ -0,0 +1,134 @@
+package com.asm.b2btools.smbp.model;
+
+/**
+ * The LeaseStats class represents statistics for one read mode of the lease workload, including the latency of
+ * re-reads and of the reads that follow a change by a second client in microseconds, the bytes fetched from the server
+ * and the reads whose content did not match the second client's last write.
+ * @since 19-10-2026
+ */
+public class LeaseStats {
+    private String mode;
+    private long reads;
+    private long bytes_fetched;
+    private long requests;
+    private long breaks;
+    private long stale_reads;
+    private long avg_reread_latency;
+    private long p99_reread_latency;
+    private long avg_break_latency;
+    private long p99_break_latency;
+    private long time_taken;
+
+    public LeaseStats() {
+
+    }
+
+    public LeaseStats(String mode) {
+        this.mode = mode;
+    }
+
+    public String getMode() {
+        return mode;
+    }
+
+    public void setMode(String mode) {
+        this.mode = mode;
+    }
+
+    public long getReads() {
+        return reads;
+    }
+
+    public void setReads(long reads) {
+        this.reads = reads;
+    }
+
+    public long getBytes_fetched() {
+        return bytes_fetched;
+    }
+
+    public void setBytes_fetched(long bytes_fetched) {
+        this.bytes_fetched = bytes_fetched;
+    }
+
+    public long getRequests() {
+        return requests;
+    }
+
+    public void setRequests(long requests) {
+        this.requests = requests;
+    }
+
+    public long getBreaks() {
+        return breaks;
+    }
+
+    public void setBreaks(long breaks) {
+        this.breaks = breaks;
+    }
+
+    public long getStale_reads() {
+        return stale_reads;
+    }
+
+    public void setStale_reads(long stale_reads) {
+        this.stale_reads = stale_reads;
+    }
+
+    public long getAvg_reread_latency() {
+        return avg_reread_latency;
+    }
+
+    public void setAvg_reread_latency(long avg_reread_latency) {
+        this.avg_reread_latency = avg_reread_latency;
+    }
+
+    public long getP99_reread_latency() {
+        return p99_reread_latency;
+    }
+
+    public void setP99_reread_latency(long p99_reread_latency) {
+        this.p99_reread_latency = p99_reread_latency;
+    }
+
+    public long getAvg_break_latency() {
+        return avg_break_latency;
+    }
+
+    public void setAvg_break_latency(long avg_break_latency) {
+        this.avg_break_latency = avg_break_latency;
+    }
+
+    public long getP99_break_latency() {
+        return p99_break_latency;
+    }
+
+    public void setP99_break_latency(long p99_break_latency) {
+        this.p99_break_latency = p99_break_latency;
+    }
+
+    public long getTime_taken() {
+        return time_taken;
+    }
+
+    public void setTime_taken(long time_taken) {
+        this.time_taken = time_taken;
+    }
+
+    @Override
+    public String toString() {
+        return "LeaseStats{" +
+                "mode='" + mode + '\'' +
+                ", reads=" + reads +
+                ", bytes_fetched=" + bytes_fetched +
+                ", requests=" + requests +
+                ", breaks=" + breaks +
+                ", stale_reads=" + stale_reads +
+                ", avg_reread_latency=" + avg_reread_latency +
+                ", p99_reread_latency=" + p99_reread_latency +
+                ", avg_break_latency=" + avg_break_latency +
+                ", p99_break_latency=" + p99_break_latency +
+                ", time_taken=" + time_taken +
+                '}';
+    }
+}
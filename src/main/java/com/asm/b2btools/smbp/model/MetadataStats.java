@@ -0,0 +1,87 @@
+package com.asm.b2btools.smbp.model;
+
+/**
+ * The MetadataStats class represents statistics for one metadata resolution mode of the metadata workload,
+ * including the requests sent to the server and the latency of each call in microseconds.
+ * @since 19-10-2026
+ */
+public class MetadataStats {
+    private String mode;
+    private long calls;
+    private long requests;
+    private long avg_latency;
+    private long p99_latency;
+    private long time_taken;
+
+    public MetadataStats() {
+
+    }
+
+    public MetadataStats(String mode) {
+        this.mode = mode;
+    }
+
+    public String getMode() {
+        return mode;
+    }
+
+    public void setMode(String mode) {
+        this.mode = mode;
+    }
+
+    public long getCalls() {
+        return calls;
+    }
+
+    public void setCalls(long calls) {
+        this.calls = calls;
+    }
+
+    public long getRequests() {
+        return requests;
+    }
+
+    public void setRequests(long requests) {
+        this.requests = requests;
+    }
+
+    public double getRequests_per_call() {
+        return calls == 0 ? 0 : (double) requests / calls;
+    }
+
+    public long getAvg_latency() {
+        return avg_latency;
+    }
+
+    public void setAvg_latency(long avg_latency) {
+        this.avg_latency = avg_latency;
+    }
+
+    public long getP99_latency() {
+        return p99_latency;
+    }
+
+    public void setP99_latency(long p99_latency) {
+        this.p99_latency = p99_latency;
+    }
+
+    public long getTime_taken() {
+        return time_taken;
+    }
+
+    public void setTime_taken(long time_taken) {
+        this.time_taken = time_taken;
+    }
+
+    @Override
+    public String toString() {
+        return "MetadataStats{" +
+                "mode='" + mode + '\'' +
+                ", calls=" + calls +
+                ", requests=" + requests +
+                ", avg_latency=" + avg_latency +
+                ", p99_latency=" + p99_latency +
+                ", time_taken=" + time_taken +
+                '}';
+    }
+}
@@ -0,0 +1,133 @@
+package com.asm.b2btools.smbp.model;
+
+/**
+ * The PollCycleStats class represents statistics for a single poll cycle of the poller workload, including
+ * the size of the walked tree, the cycle duration, the changes found and the detection latency of dropped files.
+ * @since 19-10-2026
+ */
+public class PollCycleStats {
+    private int cycle;
+    private long files_count;
+    private long dirs_count;
+    private long cycle_time_taken;
+    private double files_per_sec;
+    private long new_files;
+    private long changed_files;
+    private long deleted_files;
+    private long detected_drops;
+    private long avg_detection_latency;
+    private long max_detection_latency;
+
+    public PollCycleStats() {
+
+    }
+
+    public PollCycleStats(int cycle) {
+        this.cycle = cycle;
+    }
+
+    public int getCycle() {
+        return cycle;
+    }
+
+    public void setCycle(int cycle) {
+        this.cycle = cycle;
+    }
+
+    public long getFiles_count() {
+        return files_count;
+    }
+
+    public void setFiles_count(long files_count) {
+        this.files_count = files_count;
+    }
+
+    public long getDirs_count() {
+        return dirs_count;
+    }
+
+    public void setDirs_count(long dirs_count) {
+        this.dirs_count = dirs_count;
+    }
+
+    public long getCycle_time_taken() {
+        return cycle_time_taken;
+    }
+
+    public void setCycle_time_taken(long cycle_time_taken) {
+        this.cycle_time_taken = cycle_time_taken;
+    }
+
+    public double getFiles_per_sec() {
+        return files_per_sec;
+    }
+
+    public void setFiles_per_sec(double files_per_sec) {
+        this.files_per_sec = files_per_sec;
+    }
+
+    public long getNew_files() {
+        return new_files;
+    }
+
+    public void setNew_files(long new_files) {
+        this.new_files = new_files;
+    }
+
+    public long getChanged_files() {
+        return changed_files;
+    }
+
+    public void setChanged_files(long changed_files) {
+        this.changed_files = changed_files;
+    }
+
+    public long getDeleted_files() {
+        return deleted_files;
+    }
+
+    public void setDeleted_files(long deleted_files) {
+        this.deleted_files = deleted_files;
+    }
+
+    public long getDetected_drops() {
+        return detected_drops;
+    }
+
+    public void setDetected_drops(long detected_drops) {
+        this.detected_drops = detected_drops;
+    }
+
+    public long getAvg_detection_latency() {
+        return avg_detection_latency;
+    }
+
+    public void setAvg_detection_latency(long avg_detection_latency) {
+        this.avg_detection_latency = avg_detection_latency;
+    }
+
+    public long getMax_detection_latency() {
+        return max_detection_latency;
+    }
+
+    public void setMax_detection_latency(long max_detection_latency) {
+        this.max_detection_latency = max_detection_latency;
+    }
+
+    @Override
+    public String toString() {
+        return "PollCycleStats{" +
+                "cycle=" + cycle +
+                ", files_count=" + files_count +
+                ", dirs_count=" + dirs_count +
+                ", cycle_time_taken=" + cycle_time_taken +
+                ", files_per_sec=" + files_per_sec +
+                ", new_files=" + new_files +
+                ", changed_files=" + changed_files +
+                ", deleted_files=" + deleted_files +
+                ", detected_drops=" + detected_drops +
+                ", avg_detection_latency=" + avg_detection_latency +
+                ", max_detection_latency=" + max_detection_latency +
+                '}';
+    }
+}
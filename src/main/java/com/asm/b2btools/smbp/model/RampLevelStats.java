@@ -0,0 +1,118 @@
+package com.asm.b2btools.smbp.model;
+
+/**
+ * The RampLevelStats class represents statistics for one concurrency level of the ramp workload: the throughput of
+ * successful calls, the latency of all calls and the failed calls measured once the level was stable, or when it ran
+ * out of measurement windows.
+ * @since 19-10-2026
+ */
+public class RampLevelStats {
+    private int concurrency;
+    private double throughput;
+    private long operations;
+    private long errors;
+    private long avg_latency;
+    private long p50_latency;
+    private long p99_latency;
+    private int windows;
+    private boolean stable;
+
+    public RampLevelStats() {
+
+    }
+
+    public RampLevelStats(int concurrency) {
+        this.concurrency = concurrency;
+    }
+
+    public int getConcurrency() {
+        return concurrency;
+    }
+
+    public void setConcurrency(int concurrency) {
+        this.concurrency = concurrency;
+    }
+
+    public double getThroughput() {
+        return throughput;
+    }
+
+    public void setThroughput(double throughput) {
+        this.throughput = throughput;
+    }
+
+    public long getOperations() {
+        return operations;
+    }
+
+    public void setOperations(long operations) {
+        this.operations = operations;
+    }
+
+    public long getErrors() {
+        return errors;
+    }
+
+    public void setErrors(long errors) {
+        this.errors = errors;
+    }
+
+    public double getError_rate() {
+        return operations + errors == 0 ? 0 : (double) errors / (operations + errors);
+    }
+
+    public long getAvg_latency() {
+        return avg_latency;
+    }
+
+    public void setAvg_latency(long avg_latency) {
+        this.avg_latency = avg_latency;
+    }
+
+    public long getP50_latency() {
+        return p50_latency;
+    }
+
+    public void setP50_latency(long p50_latency) {
+        this.p50_latency = p50_latency;
+    }
+
+    public long getP99_latency() {
+        return p99_latency;
+    }
+
+    public void setP99_latency(long p99_latency) {
+        this.p99_latency = p99_latency;
+    }
+
+    public int getWindows() {
+        return windows;
+    }
+
+    public void setWindows(int windows) {
+        this.windows = windows;
+    }
+
+    public boolean isStable() {
+        return stable;
+    }
+
+    public void setStable(boolean stable) {
+        this.stable = stable;
+    }
+
+    @Override
+    public String toString() {
+        return "RampLevelStats{" +
+                "concurrency=" + concurrency +
+                ", throughput=" + throughput +
+                ", operations=" + operations +
+                ", errors=" + errors +
+                ", avg_latency=" + avg_latency +
+                ", p50_latency=" + p50_latency +
+                ", p99_latency=" + p99_latency +
+                ", windows=" + windows +
+                ", stable=" + stable +
+                '}';
+    }
+}
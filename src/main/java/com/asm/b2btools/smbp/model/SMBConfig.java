@@ -17,6 +17,8 @@ public class SMBConfig {
 
     private String DIR_NAME;
 
+    private int RECOMMENDED_MAX_CONCURRENCY;
+
     public SMBConfig(String SERVER_ADDRESS, String USERNAME, String PASSWORD, String DOMAIN, String SHARE_NAME, String FILE_NAME, String DIR_NAME) {
         this.SERVER_ADDRESS = SERVER_ADDRESS;
         this.USERNAME = USERNAME;
@@ -85,6 +87,7 @@ public class SMBConfig {
                 ", SHARE_NAME='" + SHARE_NAME + '\'' +
                 ", FILE_NAME='" + FILE_NAME + '\'' +
                 ", SHARE_NAME='" + DIR_NAME + '\'' +
+                ", RECOMMENDED_MAX_CONCURRENCY=" + RECOMMENDED_MAX_CONCURRENCY +
                 '}';
     }
 
@@ -95,4 +98,12 @@ public class SMBConfig {
     public void setDIR_NAME(String DIR_NAME) {
         this.DIR_NAME = DIR_NAME;
     }
+
+    public int getRECOMMENDED_MAX_CONCURRENCY() {
+        return RECOMMENDED_MAX_CONCURRENCY;
+    }
+
+    public void setRECOMMENDED_MAX_CONCURRENCY(int RECOMMENDED_MAX_CONCURRENCY) {
+        this.RECOMMENDED_MAX_CONCURRENCY = RECOMMENDED_MAX_CONCURRENCY;
+    }
 }
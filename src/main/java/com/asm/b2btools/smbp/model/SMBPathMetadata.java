@@ -0,0 +1,46 @@
+package com.asm.b2btools.smbp.model;
+
+/**
+ * The SMBPathMetadata class represents what the metadata checks of SMBUtils resolve for a path on an SMB share:
+ * whether it exists, whether it is a directory and the length of the file.
+ * @since 19-10-2026
+ */
+public class SMBPathMetadata {
+    private final String path;
+    private final boolean exists;
+    private final boolean directory;
+    private final long length;
+
+    public SMBPathMetadata(String path, boolean exists, boolean directory, long length) {
+        this.path = path;
+        this.exists = exists;
+        this.directory = directory;
+        this.length = length;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public boolean exists() {
+        return exists;
+    }
+
+    public boolean isDirectory() {
+        return directory;
+    }
+
+    public long getLength() {
+        return length;
+    }
+
+    @Override
+    public String toString() {
+        return "SMBPathMetadata{" +
+                "path='" + path + '\'' +
+                ", exists=" + exists +
+                ", directory=" + directory +
+                ", length=" + length +
+                '}';
+    }
+}
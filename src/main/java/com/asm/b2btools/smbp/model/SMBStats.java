@@ -10,6 +10,9 @@ public class SMBStats {
     private String exists_call_time_taken;
     private String is_directory_call_time_taken;
     private String length_call_time_taken;
+    private long exists_call_start_time;
+    private long is_directory_call_start_time;
+    private long length_call_start_time;
 
     public SMBStats() {
 
@@ -45,12 +48,39 @@ public class SMBStats {
         this.length_call_time_taken = length_call_time_taken;
     }
 
+    public long getExists_call_start_time() {
+        return exists_call_start_time;
+    }
+
+    public void setExists_call_start_time(long exists_call_start_time) {
+        this.exists_call_start_time = exists_call_start_time;
+    }
+
+    public long getIs_directory_call_start_time() {
+        return is_directory_call_start_time;
+    }
+
+    public void setIs_directory_call_start_time(long is_directory_call_start_time) {
+        this.is_directory_call_start_time = is_directory_call_start_time;
+    }
+
+    public long getLength_call_start_time() {
+        return length_call_start_time;
+    }
+
+    public void setLength_call_start_time(long length_call_start_time) {
+        this.length_call_start_time = length_call_start_time;
+    }
+
     @Override
     public String toString() {
         return "SMBStats{" +
                 "exists_call_time_taken='" + exists_call_time_taken + '\'' +
                 ", is_directory_call_time_taken='" + is_directory_call_time_taken + '\'' +
                 ", length_call_time_taken='" + length_call_time_taken + '\'' +
+                ", exists_call_start_time=" + exists_call_start_time +
+                ", is_directory_call_start_time=" + is_directory_call_start_time +
+                ", length_call_start_time=" + length_call_start_time +
                 '}';
     }
 }
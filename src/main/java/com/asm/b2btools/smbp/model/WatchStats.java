@@ -0,0 +1,135 @@
+package com.asm.b2btools.smbp.model;
+
+/**
+ * The WatchStats class represents statistics for one change detection mode of the watch workload, either
+ * SMB2 CHANGE_NOTIFY or a DiskShare.list() polling loop, including detection latency, missed files and the
+ * number of requests sent to the server detecting them. A detection pass is one CHANGE_NOTIFY response or one
+ * listing; a listing takes several requests, which are counted in requests.
+ * @since 19-10-2026
+ */
+public class WatchStats {
+    private String mode;
+    private long files_created;
+    private long files_detected;
+    private long missed_files;
+    private long overflow_events;
+    private long detection_passes;
+    private long requests;
+    private long avg_detection_latency;
+    private long p99_detection_latency;
+    private long max_detection_latency;
+    private long time_taken;
+
+    public WatchStats() {
+
+    }
+
+    public WatchStats(String mode) {
+        this.mode = mode;
+    }
+
+    public String getMode() {
+        return mode;
+    }
+
+    public void setMode(String mode) {
+        this.mode = mode;
+    }
+
+    public long getFiles_created() {
+        return files_created;
+    }
+
+    public void setFiles_created(long files_created) {
+        this.files_created = files_created;
+    }
+
+    public long getFiles_detected() {
+        return files_detected;
+    }
+
+    public void setFiles_detected(long files_detected) {
+        this.files_detected = files_detected;
+    }
+
+    public long getMissed_files() {
+        return missed_files;
+    }
+
+    public void setMissed_files(long missed_files) {
+        this.missed_files = missed_files;
+    }
+
+    public long getOverflow_events() {
+        return overflow_events;
+    }
+
+    public void setOverflow_events(long overflow_events) {
+        this.overflow_events = overflow_events;
+    }
+
+    public long getDetection_passes() {
+        return detection_passes;
+    }
+
+    public void setDetection_passes(long detection_passes) {
+        this.detection_passes = detection_passes;
+    }
+
+    public long getRequests() {
+        return requests;
+    }
+
+    public void setRequests(long requests) {
+        this.requests = requests;
+    }
+
+    public long getAvg_detection_latency() {
+        return avg_detection_latency;
+    }
+
+    public void setAvg_detection_latency(long avg_detection_latency) {
+        this.avg_detection_latency = avg_detection_latency;
+    }
+
+    public long getP99_detection_latency() {
+        return p99_detection_latency;
+    }
+
+    public void setP99_detection_latency(long p99_detection_latency) {
+        this.p99_detection_latency = p99_detection_latency;
+    }
+
+    public long getMax_detection_latency() {
+        return max_detection_latency;
+    }
+
+    public void setMax_detection_latency(long max_detection_latency) {
+        this.max_detection_latency = max_detection_latency;
+    }
+
+    public long getTime_taken() {
+        return time_taken;
+    }
+
+    public void setTime_taken(long time_taken) {
+        this.time_taken = time_taken;
+    }
+
+    @Override
+    public String toString() {
+        return "WatchStats{" +
+                "mode='" + mode + '\'' +
+                ", files_created=" + files_created +
+                ", files_detected=" + files_detected +
+                ", missed_files=" + missed_files +
+                ", overflow_events=" + overflow_events +
+                ", detection_passes=" + detection_passes +
+                ", requests=" + requests +
+                ", avg_detection_latency=" + avg_detection_latency +
+                ", p99_detection_latency=" + p99_detection_latency +
+                ", max_detection_latency=" + max_detection_latency +
+                ", time_taken=" + time_taken +
+                '}';
+    }
+}
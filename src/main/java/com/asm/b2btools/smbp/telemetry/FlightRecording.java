@@ -0,0 +1,68 @@
+package com.asm.b2btools.smbp.telemetry;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.text.ParseException;
+
+/**
+ * The FlightRecording class wraps an in-process JFR recording with the default settings and the SMB operation events enabled.
+ * Only use it after checking JfrSupport.isAvailable(), it needs the jdk.jfr API.
+ * @since 19-10-2026
+ */
+public class FlightRecording {
+
+    private static final Logger logger = LoggerFactory.getLogger(FlightRecording.class);
+
+    private final Recording recording;
+    private final String jfrFile;
+
+    private FlightRecording(Recording recording, String jfrFile) {
+        this.recording = recording;
+        this.jfrFile = jfrFile;
+    }
+
+    /**
+     * Starts a JFR recording with the default settings and the SMB operation events enabled. The recording is written
+     * to the given file when it is stopped, and by JFR itself if the JVM exits first.
+     * @param jfrFile The file path where the recording will be written.
+     * @return The started recording, or null if it could not be started.
+     */
+    public static FlightRecording start(String jfrFile) {
+        try {
+            Recording recording = new Recording(Configuration.getConfiguration("default"));
+            recording.enable(SMBOperationEvent.class);
+            recording.setDestination(Paths.get(jfrFile));
+            recording.setDumpOnExit(true);
+            recording.start();
+            logger.debug("JFR recording started");
+            return new FlightRecording(recording, jfrFile);
+        } catch (IOException | ParseException | IllegalStateException e) {
+            // IllegalStateException: the JFR API is present but recording is not possible in this JVM
+            logger.warn("Could not start JFR recording, continuing without it", e);
+            return null;
+        }
+    }
+
+    /**
+     * Stops the recording, which writes it to its file. JFR's own shutdown hook may have stopped it already.
+     */
+    public void stop() {
+        try {
+            if (recording.getState() == RecordingState.RUNNING) {
+                recording.stop();
+                logger.info("JFR recording written to " + jfrFile);
+            }
+        } catch (IllegalStateException e) {
+            logger.warn("Could not write JFR recording to " + jfrFile, e);
+        } finally {
+            recording.close();
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.asm.b2btools.smbp.telemetry;
+
+/**
+ * The JfrSupport class tells whether the running JVM ships JDK Flight Recorder.
+ * Java 8 runtimes before 8u262 do not have the jdk.jfr API, so the classes that use it are only loaded when it is available.
+ * @since 19-10-2026
+ */
+public final class JfrSupport {
+
+    private static final boolean AVAILABLE = checkAvailable();
+
+    private JfrSupport() {
+
+    }
+
+    /**
+     * @return True if the jdk.jfr API can be used in this JVM.
+     */
+    public static boolean isAvailable() {
+        return AVAILABLE;
+    }
+
+    private static boolean checkAvailable() {
+        try {
+            Class.forName("jdk.jfr.Event", false, JfrSupport.class.getClassLoader());
+            return true;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package com.asm.b2btools.smbp.telemetry;
+
+import com.asm.b2btools.smbp.model.GcPause;
+import com.asm.b2btools.smbp.model.JvmSample;
+import com.sun.management.GarbageCollectionNotificationInfo;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.management.ListenerNotFoundException;
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryUsage;
+import java.lang.management.OperatingSystemMXBean;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The JvmTelemetrySampler class samples the profiler's own JVM while a workload runs, so that SMB latency spikes
+ * can be told apart from local causes. Heap usage, allocation rate, process CPU load and GC counters are sampled
+ * at a fixed interval; GC pauses are recorded individually from GC notifications, with their exact start and duration.
+ * Allocation rate and CPU load rely on the com.sun.management extensions and are reported as 0 / -1 when unavailable.
+ * @since 19-10-2026
+ */
+public class JvmTelemetrySampler implements NotificationListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(JvmTelemetrySampler.class);
+
+    private final long interval;
+    private final List<JvmSample> samples = Collections.synchronizedList(new ArrayList<JvmSample>());
+    private final List<GcPause> gcPauses = Collections.synchronizedList(new ArrayList<GcPause>());
+    private final long jvmStartTime = ManagementFactory.getRuntimeMXBean().getStartTime();
+    private ScheduledExecutorService scheduler;
+    private long lastAllocatedBytes = -1L;
+    private long lastSampleTime = 0L;
+
+    /**
+     * @param interval The sampling interval in milliseconds.
+     */
+    public JvmTelemetrySampler(long interval) {
+        this.interval = interval;
+    }
+
+    /**
+     * Registers for GC notifications and starts sampling on a daemon thread.
+     */
+    public void start() {
+        for (GarbageCollectorMXBean gcBean : ManagementFactory.getGarbageCollectorMXBeans()) {
+            if (gcBean instanceof NotificationEmitter) {
+                ((NotificationEmitter) gcBean).addNotificationListener(this, null, null);
+            }
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "smbp-jvm-sampler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleAtFixedRate(this::sample, 0L, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Takes a last sample, stops sampling and unregisters from GC notifications.
+     */
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            try {
+                scheduler.awaitTermination(interval, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        sample();
+        for (GarbageCollectorMXBean gcBean : ManagementFactory.getGarbageCollectorMXBeans()) {
+            if (gcBean instanceof NotificationEmitter) {
+                try {
+                    ((NotificationEmitter) gcBean).removeNotificationListener(this);
+                } catch (ListenerNotFoundException e) {
+                    // Never registered, nothing to remove
+                }
+            }
+        }
+    }
+
+    public List<JvmSample> getSamples() {
+        synchronized (samples) {
+            return new ArrayList<>(samples);
+        }
+    }
+
+    public List<GcPause> getGcPauses() {
+        synchronized (gcPauses) {
+            return new ArrayList<>(gcPauses);
+        }
+    }
+
+    private synchronized void sample() {
+        long now = System.currentTimeMillis();
+        JvmSample sample = new JvmSample(now);
+        MemoryUsage heap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage();
+        sample.setHeap_used(heap.getUsed());
+        sample.setHeap_committed(heap.getCommitted());
+
+        long gcCount = 0L;
+        long gcTime = 0L;
+        for (GarbageCollectorMXBean gcBean : ManagementFactory.getGarbageCollectorMXBeans()) {
+            gcCount += Math.max(0L, gcBean.getCollectionCount());
+            gcTime += Math.max(0L, gcBean.getCollectionTime());
+        }
+        sample.setGc_count(gcCount);
+        sample.setGc_time(gcTime);
+
+        OperatingSystemMXBean osBean = ManagementFactory.getOperatingSystemMXBean();
+        if (osBean instanceof com.sun.management.OperatingSystemMXBean) {
+            sample.setProcess_cpu_load(((com.sun.management.OperatingSystemMXBean) osBean).getProcessCpuLoad());
+        } else {
+            sample.setProcess_cpu_load(-1);
+        }
+
+        ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+        if (threadBean instanceof com.sun.management.ThreadMXBean) {
+            long allocatedBytes = 0L;
+            for (long allocated : ((com.sun.management.ThreadMXBean) threadBean).getThreadAllocatedBytes(threadBean.getAllThreadIds())) {
+                allocatedBytes += Math.max(0L, allocated);
+            }
+            // Bytes allocated by threads that died since the last sample are lost, so the delta can go negative
+            if (lastAllocatedBytes >= 0 && now > lastSampleTime) {
+                sample.setAllocation_rate(Math.max(0L, (allocatedBytes - lastAllocatedBytes) * 1000L / (now - lastSampleTime)));
+            }
+            lastAllocatedBytes = allocatedBytes;
+        }
+        lastSampleTime = now;
+        samples.add(sample);
+    }
+
+    /**
+     * Checks if a GC notification is a stop-the-world pause. ZGC and Shenandoah "Cycles" beans report whole
+     * concurrent cycles ("end of GC cycle"), and CMS reports its concurrent major collection as one notification.
+     * Pauses of concurrent collectors, like the Remark and Cleanup pauses of the "G1 Concurrent GC" bean, are kept.
+     */
+    private static boolean isPause(GarbageCollectionNotificationInfo info) {
+        String action = info.getGcAction() == null ? "" : info.getGcAction().toLowerCase();
+        return !action.contains("cycle")
+                && !info.getGcName().endsWith("Cycles")
+                && !info.getGcName().equals("ConcurrentMarkSweep");
+    }
+
+    @Override
+    public void handleNotification(Notification notification, Object handback) {
+        if (!GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION.equals(notification.getType())) {
+            return;
+        }
+        GarbageCollectionNotificationInfo info = GarbageCollectionNotificationInfo.from((CompositeData) notification.getUserData());
+        if (!isPause(info)) {
+            return;
+        }
+        GcPause pause = new GcPause(info.getGcName(), info.getGcCause(),
+                jvmStartTime + info.getGcInfo().getStartTime(), info.getGcInfo().getDuration());
+        logger.debug("GC pause: " + pause);
+        gcPauses.add(pause);
+    }
+}
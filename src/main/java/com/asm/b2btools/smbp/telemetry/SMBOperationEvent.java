@@ -0,0 +1,89 @@
+package com.asm.b2btools.smbp.telemetry;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * The SMBOperationEvent class is a custom JFR event committed for every SMB operation profiled by SMBUtils and SMBUtilsV1.
+ * It carries the library, operation type, target path, the time spent in each phase and the outcome, so SMB latency
+ * can be lined up with GC, safepoint and CPU events of the same recording.
+ * Phases a library does not expose separately (jcifs connects lazily inside the operation) are left at 0.
+ * It is created through SMBOperationRecorder, which skips it on JVMs without JFR.
+ * @since 19-10-2026
+ */
+@Name("com.asm.b2btools.smbp.SMBOperation")
+@Label("SMB Operation")
+@Category("SMBProfiler")
+@Description("A single SMB operation performed by SMBProfiler")
+@StackTrace(false)
+public class SMBOperationEvent extends Event {
+
+    public static final String OUTCOME_SUCCESS = "SUCCESS";
+
+    @Label("Library")
+    private String library;
+
+    @Label("Operation")
+    private String operation;
+
+    @Label("Target")
+    private String target;
+
+    @Label("Connect Time")
+    @Timespan(Timespan.MILLISECONDS)
+    private long connectTime;
+
+    @Label("Authentication Time")
+    @Timespan(Timespan.MILLISECONDS)
+    private long authTime;
+
+    @Label("Share Connect Time")
+    @Timespan(Timespan.MILLISECONDS)
+    private long shareConnectTime;
+
+    @Label("Operation Time")
+    @Timespan(Timespan.MILLISECONDS)
+    private long operationTime;
+
+    @Label("Outcome")
+    private String outcome = OUTCOME_SUCCESS;
+
+    public SMBOperationEvent(String library, String operation, String target) {
+        this.library = library;
+        this.operation = operation;
+        this.target = target;
+    }
+
+    public void setConnectTime(long connectTime) {
+        this.connectTime = connectTime;
+    }
+
+    public void setAuthTime(long authTime) {
+        this.authTime = authTime;
+    }
+
+    public void setShareConnectTime(long shareConnectTime) {
+        this.shareConnectTime = shareConnectTime;
+    }
+
+    public void setOperationTime(long operationTime) {
+        this.operationTime = operationTime;
+    }
+
+    public void setOutcome(String outcome) {
+        this.outcome = outcome;
+    }
+
+    /**
+     * Marks the event as failed with the type of the exception that ended the operation.
+     * @param e The exception thrown by the operation.
+     */
+    public void setFailure(Exception e) {
+        this.outcome = "FAILED: " + e.getClass().getSimpleName();
+    }
+}
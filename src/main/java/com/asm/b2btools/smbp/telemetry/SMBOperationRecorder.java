@@ -0,0 +1,61 @@
+package com.asm.b2btools.smbp.telemetry;
+
+/**
+ * The SMBOperationRecorder class records an SMB operation as an SMBOperationEvent when JFR is available,
+ * and does nothing otherwise, so SMBUtils and SMBUtilsV1 keep working on Java 8 runtimes without JFR.
+ * @since 19-10-2026
+ */
+public class SMBOperationRecorder {
+
+    private final SMBOperationEvent event;
+
+    public SMBOperationRecorder(String library, String operation, String target) {
+        this.event = JfrSupport.isAvailable() ? new SMBOperationEvent(library, operation, target) : null;
+    }
+
+    public void begin() {
+        if (event != null) {
+            event.begin();
+        }
+    }
+
+    public void setConnectTime(long connectTime) {
+        if (event != null) {
+            event.setConnectTime(connectTime);
+        }
+    }
+
+    public void setAuthTime(long authTime) {
+        if (event != null) {
+            event.setAuthTime(authTime);
+        }
+    }
+
+    public void setShareConnectTime(long shareConnectTime) {
+        if (event != null) {
+            event.setShareConnectTime(shareConnectTime);
+        }
+    }
+
+    public void setOperationTime(long operationTime) {
+        if (event != null) {
+            event.setOperationTime(operationTime);
+        }
+    }
+
+    /**
+     * Marks the operation as failed with the type of the exception that ended it.
+     * @param e The exception thrown by the operation.
+     */
+    public void setFailure(Exception e) {
+        if (event != null) {
+            event.setFailure(e);
+        }
+    }
+
+    public void commit() {
+        if (event != null) {
+            event.commit();
+        }
+    }
+}
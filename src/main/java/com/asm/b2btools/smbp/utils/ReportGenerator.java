@@ -1,17 +1,38 @@
 package com.asm.b2btools.smbp.utils;
 
 import com.asm.b2btools.smbp.exception.SMBPException;
+import com.asm.b2btools.smbp.model.GcPause;
+import com.asm.b2btools.smbp.model.IngestStats;
+import com.asm.b2btools.smbp.model.JvmSample;
+import com.asm.b2btools.smbp.model.LeaseStats;
+import com.asm.b2btools.smbp.model.MetadataStats;
+import com.asm.b2btools.smbp.model.PollCycleStats;
+import com.asm.b2btools.smbp.model.RampLevelStats;
 import com.asm.b2btools.smbp.model.SMBStats;
+import com.asm.b2btools.smbp.model.WatchStats;
 import org.jfree.chart.ChartFactory;
 import org.jfree.chart.ChartUtils;
 import org.jfree.chart.JFreeChart;
+import org.jfree.chart.axis.NumberAxis;
+import org.jfree.chart.plot.CombinedDomainXYPlot;
+import org.jfree.chart.plot.ValueMarker;
+import org.jfree.chart.plot.XYPlot;
+import org.jfree.chart.renderer.xy.XYLineAndShapeRenderer;
 import org.jfree.data.category.CategoryDataset;
 import org.jfree.data.category.DefaultCategoryDataset;
+import org.jfree.data.xy.XYSeries;
+import org.jfree.data.xy.XYSeriesCollection;
 
+import java.awt.BasicStroke;
+import java.awt.Color;
 import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 
 /**
  * The ReportGenerator class provides utility methods for generating reports based on SMB profiling statistics.
@@ -100,4 +121,446 @@ public class ReportGenerator {
         dataset.addValue(avgLength, "Average Time", "Length");
         return dataset;
     }
-}
\ No newline at end of file
+
+    /**
+     * Appends poller workload statistics to a file and charts poll cycle duration and detection latency
+     * against the number of files in the walked tree.
+     * @param cycleStats The list of PollCycleStats, one per poll cycle.
+     * @param statsFile The file path where the poller report will be generated.
+     * @throws SMBPException Thrown if an exception occurs during the report generation process.
+     */
+    public static void generatePollerReport(List<PollCycleStats> cycleStats, String statsFile) throws SMBPException {
+        try (FileWriter writer = new FileWriter(statsFile, true)) {
+            writer.append("========================= SMB Poller Report =========================\n\n");
+            XYSeries cycleSeries = new XYSeries("Poll Cycle Duration");
+            XYSeries latencySeries = new XYSeries("Avg Detection Latency");
+            for (PollCycleStats stats : cycleStats) {
+                writer.append("[Cycle ").append(String.valueOf(stats.getCycle())).append("]");
+                writer.append("\nFiles / Directories: ").append(String.valueOf(stats.getFiles_count()))
+                        .append(" / ").append(String.valueOf(stats.getDirs_count()));
+                writer.append("\nPoll Cycle Time Taken: ").append(String.valueOf(stats.getCycle_time_taken())).append("ms");
+                writer.append("\nFiles/sec: ").append(String.format("%.1f", stats.getFiles_per_sec()));
+                writer.append("\nNew / Changed / Deleted: ").append(String.valueOf(stats.getNew_files()))
+                        .append(" / ").append(String.valueOf(stats.getChanged_files()))
+                        .append(" / ").append(String.valueOf(stats.getDeleted_files()));
+                writer.append("\nDetected Drops: ").append(String.valueOf(stats.getDetected_drops()));
+                writer.append("\nDetection Latency Avg / Max: ").append(String.valueOf(stats.getAvg_detection_latency()))
+                        .append("ms / ").append(String.valueOf(stats.getMax_detection_latency())).append("ms");
+                writer.append("\n\n");
+                cycleSeries.addOrUpdate(stats.getFiles_count(), stats.getCycle_time_taken());
+                if (stats.getDetected_drops() > 0) {
+                    latencySeries.addOrUpdate(stats.getFiles_count(), stats.getAvg_detection_latency());
+                }
+            }
+
+            XYSeriesCollection dataset = new XYSeriesCollection();
+            dataset.addSeries(cycleSeries);
+            dataset.addSeries(latencySeries);
+            String chartFile = statsFile.substring(0,statsFile.length() - 4) + ".png";
+            createLineChart("Poll Cycle Duration vs Tree Size", "Files in Tree", "Time (ms)", dataset, chartFile);
+
+            writer.append("========================= End of SMB Poller Report ======================\n\n");
+        } catch (IOException e) {
+            throw new SMBPException("Exception occurred during generatePollerReport()", e);
+        }
+    }
+
+    /**
+     * Creates a line chart for XY series and saves it as a PNG file.
+     *
+     * @param title     Title of the chart.
+     * @param xLabel    Label of the X axis.
+     * @param yLabel    Label of the Y axis.
+     * @param dataset   The series to plot.
+     * @param chartFile File path where the chart will be saved.
+     * @throws IOException If an error occurs while saving the chart.
+     */
+    private static void createLineChart(String title, String xLabel, String yLabel, XYSeriesCollection dataset, String chartFile) throws IOException {
+        JFreeChart lineChart = ChartFactory.createXYLineChart(title, xLabel, yLabel, dataset);
+        ChartUtils.saveChartAsPNG(new File(chartFile), lineChart, 800, 500);
+    }
+
+    /**
+     * Appends watch workload statistics to a file, comparing detection latency and requests sent to the server by
+     * CHANGE_NOTIFY against polling, and charts the detection latency of both modes.
+     * @param watchStats The list of WatchStats, one per detection mode.
+     * @param statsFile The file path where the watch report will be generated.
+     * @throws SMBPException Thrown if an exception occurs during the report generation process.
+     */
+    public static void generateWatchReport(List<WatchStats> watchStats, String statsFile) throws SMBPException {
+        try (FileWriter writer = new FileWriter(statsFile, true)) {
+            writer.append("========================= SMB Watch Report =========================\n\n");
+            DefaultCategoryDataset dataset = new DefaultCategoryDataset();
+            for (WatchStats stats : watchStats) {
+                writer.append("[").append(stats.getMode()).append("]");
+                writer.append("\nFiles Created / Detected / Missed: ").append(String.valueOf(stats.getFiles_created()))
+                        .append(" / ").append(String.valueOf(stats.getFiles_detected()))
+                        .append(" / ").append(String.valueOf(stats.getMissed_files()));
+                writer.append("\nOverflow Events: ").append(String.valueOf(stats.getOverflow_events()));
+                writer.append("\nDetection Passes: ").append(String.valueOf(stats.getDetection_passes()));
+                writer.append("\nServer Requests: ").append(String.valueOf(stats.getRequests()));
+                writer.append("\nRequests per Detected File: ").append(stats.getFiles_detected() == 0 ? "n/a"
+                        : String.format("%.2f", (double) stats.getRequests() / stats.getFiles_detected()));
+                writer.append("\nDetection Latency Avg / P99 / Max: ").append(String.valueOf(stats.getAvg_detection_latency()))
+                        .append("ms / ").append(String.valueOf(stats.getP99_detection_latency()))
+                        .append("ms / ").append(String.valueOf(stats.getMax_detection_latency())).append("ms");
+                writer.append("\nTime Taken: ").append(String.valueOf(stats.getTime_taken())).append("ms");
+                writer.append("\n\n");
+                dataset.addValue(stats.getAvg_detection_latency(), "Average Latency", stats.getMode());
+                dataset.addValue(stats.getP99_detection_latency(), "P99 Latency", stats.getMode());
+            }
+
+            String chartFile = statsFile.substring(0,statsFile.length() - 4) + ".png";
+            JFreeChart barChart = ChartFactory.createBarChart(
+                    "Detection Latency: CHANGE_NOTIFY vs Polling",
+                    "Detection Mode",
+                    "Detection Latency (ms)",
+                    dataset
+            );
+            ChartUtils.saveChartAsPNG(new File(chartFile), barChart, 600, 400);
+
+            writer.append("========================= End of SMB Watch Report ======================\n\n");
+        } catch (IOException e) {
+            throw new SMBPException("Exception occurred during generateWatchReport()", e);
+        }
+    }
+
+    /**
+     * Appends JVM telemetry to a file and flags every SMB operation that overlapped a GC pause. Also creates a timeline
+     * chart with SMB operation latency, heap usage, allocation rate and process CPU load, with GC pauses marked on it.
+     * @param samples The JVM samples taken during the run.
+     * @param gcPauses The GC pauses observed during the run.
+     * @param smbStats The SMBStats of the profiled runs, or null for workloads without per-operation timings.
+     * @param statsFile The file path where the telemetry report will be generated.
+     * @throws SMBPException Thrown if an exception occurs during the report generation process.
+     */
+    public static void generateTelemetryReport(List<JvmSample> samples, List<GcPause> gcPauses, List<SMBStats> smbStats, String statsFile) throws SMBPException {
+        try (FileWriter writer = new FileWriter(statsFile, true)) {
+            long maxHeap = 0L;
+            long maxAllocationRate = 0L;
+            double totalCpu = 0;
+            double maxCpu = 0;
+            int cpuSamples = 0;
+            for (JvmSample sample : samples) {
+                maxHeap = Math.max(maxHeap, sample.getHeap_used());
+                maxAllocationRate = Math.max(maxAllocationRate, sample.getAllocation_rate());
+                if (sample.getProcess_cpu_load() >= 0) {
+                    totalCpu += sample.getProcess_cpu_load();
+                    maxCpu = Math.max(maxCpu, sample.getProcess_cpu_load());
+                    cpuSamples++;
+                }
+            }
+            long totalPause = 0L;
+            long maxPause = 0L;
+            for (GcPause pause : gcPauses) {
+                totalPause += pause.getDuration();
+                maxPause = Math.max(maxPause, pause.getDuration());
+            }
+
+            writer.append("========================= JVM Telemetry Report =========================\n\n");
+            writer.append("Samples: ").append(String.valueOf(samples.size()));
+            writer.append("\nMax Heap Used: ").append(String.valueOf(maxHeap / (1024 * 1024))).append("MB");
+            writer.append("\nMax Allocation Rate: ").append(String.valueOf(maxAllocationRate / (1024 * 1024))).append("MB/s");
+            writer.append("\nProcess CPU Avg / Max: ").append(cpuSamples == 0 ? "n/a" : String.format("%.1f%% / %.1f%%", totalCpu * 100 / cpuSamples, maxCpu * 100));
+            writer.append("\nGC Pauses: ").append(String.valueOf(gcPauses.size()))
+                    .append(", total ").append(String.valueOf(totalPause)).append("ms")
+                    .append(", max ").append(String.valueOf(maxPause)).append("ms");
+            writer.append("\n\n<<SMB operations overlapping a GC pause>>");
+            if (smbStats == null) {
+                writer.append("\nNot available, this workload does not record per-operation timings");
+            } else {
+                int overlapping = 0;
+                for (int i = 0; i < smbStats.size(); ++i) {
+                    SMBStats stats = smbStats.get(i);
+                    overlapping += appendGcOverlaps(writer, i + 1, "Exists", stats.getExists_call_start_time(), stats.getExists_call_time_taken(), gcPauses);
+                    overlapping += appendGcOverlaps(writer, i + 1, "IsDirectory", stats.getIs_directory_call_start_time(), stats.getIs_directory_call_time_taken(), gcPauses);
+                    overlapping += appendGcOverlaps(writer, i + 1, "Length", stats.getLength_call_start_time(), stats.getLength_call_time_taken(), gcPauses);
+                }
+                if (overlapping == 0) {
+                    writer.append("\nNone");
+                }
+            }
+            writer.append("\n\n");
+
+            String chartFile = statsFile.substring(0,statsFile.length() - 4) + "_jvm.png";
+            createTelemetryChart(samples, gcPauses, smbStats == null ? Collections.<SMBStats>emptyList() : smbStats, chartFile);
+
+            writer.append("========================= End of JVM Telemetry Report ======================\n\n");
+        } catch (IOException e) {
+            throw new SMBPException("Exception occurred during generateTelemetryReport()", e);
+        }
+    }
+
+    /**
+     * Writes a line for every GC pause that overlaps the given SMB operation.
+     * @return The number of overlapping pauses.
+     */
+    private static int appendGcOverlaps(FileWriter writer, int run, String operation, long startTime, String timeTaken, List<GcPause> gcPauses) throws IOException {
+        if (startTime == 0L || timeTaken == null) {
+            return 0;
+        }
+        long endTime = startTime + Long.parseLong(timeTaken);
+        int overlapping = 0;
+        for (GcPause pause : gcPauses) {
+            if (pause.overlaps(startTime, endTime)) {
+                writer.append("\n[Run ").append(String.valueOf(run)).append("] ").append(operation)
+                        .append(" (").append(timeTaken).append("ms) overlapped ").append(pause.getGc_name())
+                        .append(" pause of ").append(String.valueOf(pause.getDuration())).append("ms (")
+                        .append(pause.getGc_cause()).append(")");
+                overlapping++;
+            }
+        }
+        return overlapping;
+    }
+
+    /**
+     * Creates the telemetry timeline: SMB operation latency, heap and allocation rate, and process CPU load
+     * stacked on a shared time axis, with a vertical marker at every GC pause.
+     *
+     * @param samples   The JVM samples taken during the run.
+     * @param gcPauses  The GC pauses observed during the run.
+     * @param smbStats  The SMBStats of the profiled runs.
+     * @param chartFile File path where the chart will be saved.
+     * @throws IOException If an error occurs while saving the chart.
+     */
+    private static void createTelemetryChart(List<JvmSample> samples, List<GcPause> gcPauses, List<SMBStats> smbStats, String chartFile) throws IOException {
+        long baseTime = Long.MAX_VALUE;
+        for (JvmSample sample : samples) {
+            baseTime = Math.min(baseTime, sample.getTimestamp());
+        }
+        for (SMBStats stats : smbStats) {
+            if (stats.getExists_call_start_time() > 0) {
+                baseTime = Math.min(baseTime, stats.getExists_call_start_time());
+            }
+        }
+        if (baseTime == Long.MAX_VALUE) {
+            return;
+        }
+
+        XYSeries existsSeries = new XYSeries("Exists");
+        XYSeries isDirSeries = new XYSeries("IsDirectory");
+        XYSeries lengthSeries = new XYSeries("Length");
+        for (SMBStats stats : smbStats) {
+            addLatencyPoint(existsSeries, baseTime, stats.getExists_call_start_time(), stats.getExists_call_time_taken());
+            addLatencyPoint(isDirSeries, baseTime, stats.getIs_directory_call_start_time(), stats.getIs_directory_call_time_taken());
+            addLatencyPoint(lengthSeries, baseTime, stats.getLength_call_start_time(), stats.getLength_call_time_taken());
+        }
+        XYSeriesCollection latencyDataset = new XYSeriesCollection();
+        latencyDataset.addSeries(existsSeries);
+        latencyDataset.addSeries(isDirSeries);
+        latencyDataset.addSeries(lengthSeries);
+
+        XYSeries heapSeries = new XYSeries("Heap Used (MB)");
+        XYSeries allocationSeries = new XYSeries("Allocation Rate (MB/s)");
+        XYSeries cpuSeries = new XYSeries("Process CPU (%)");
+        for (JvmSample sample : samples) {
+            double seconds = (sample.getTimestamp() - baseTime) / 1000.0;
+            heapSeries.addOrUpdate(seconds, sample.getHeap_used() / (1024.0 * 1024.0));
+            allocationSeries.addOrUpdate(seconds, sample.getAllocation_rate() / (1024.0 * 1024.0));
+            if (sample.getProcess_cpu_load() >= 0) {
+                cpuSeries.addOrUpdate(seconds, sample.getProcess_cpu_load() * 100);
+            }
+        }
+        XYSeriesCollection memoryDataset = new XYSeriesCollection();
+        memoryDataset.addSeries(heapSeries);
+        memoryDataset.addSeries(allocationSeries);
+        XYSeriesCollection cpuDataset = new XYSeriesCollection(cpuSeries);
+
+        XYPlot latencyPlot = new XYPlot(latencyDataset, null, new NumberAxis("SMB Latency (ms)"), new XYLineAndShapeRenderer(false, true));
+        XYPlot memoryPlot = new XYPlot(memoryDataset, null, new NumberAxis("MB"), new XYLineAndShapeRenderer(true, false));
+        XYPlot cpuPlot = new XYPlot(cpuDataset, null, new NumberAxis("CPU (%)"), new XYLineAndShapeRenderer(true, false));
+
+        CombinedDomainXYPlot plot = new CombinedDomainXYPlot(new NumberAxis("Time since start (s)"));
+        plot.add(latencyPlot, 2);
+        plot.add(memoryPlot, 1);
+        plot.add(cpuPlot, 1);
+        for (GcPause pause : gcPauses) {
+            double seconds = (pause.getStart_time() - baseTime) / 1000.0;
+            for (XYPlot subPlot : new XYPlot[]{latencyPlot, memoryPlot, cpuPlot}) {
+                ValueMarker marker = new ValueMarker(seconds, Color.RED, new BasicStroke(1.0f));
+                subPlot.addDomainMarker(marker);
+            }
+        }
+
+        JFreeChart chart = new JFreeChart("SMB Latency vs JVM Telemetry (GC pauses in red)", JFreeChart.DEFAULT_TITLE_FONT, plot, true);
+        ChartUtils.saveChartAsPNG(new File(chartFile), chart, 1000, 700);
+    }
+
+    private static void addLatencyPoint(XYSeries series, long baseTime, long startTime, String timeTaken) {
+        if (startTime > 0 && timeTaken != null) {
+            series.add((startTime - baseTime) / 1000.0, Long.parseLong(timeTaken));
+        }
+    }
+
+    /**
+     * Appends ramp workload statistics to a file and creates the throughput-vs-latency curve of the measured levels.
+     * @param levels The list of RampLevelStats, in the order the levels were measured.
+     * @param recommendedConcurrency The recommended max concurrency found by the ramp.
+     * @param statsFile The file path where the ramp report will be generated.
+     * @throws SMBPException Thrown if an exception occurs during the report generation process.
+     */
+    public static void generateRampReport(List<RampLevelStats> levels, int recommendedConcurrency, String statsFile) throws SMBPException {
+        try (FileWriter writer = new FileWriter(statsFile, true)) {
+            writer.append("========================= SMB Concurrency Ramp Report =========================\n\n");
+            for (RampLevelStats level : levels) {
+                writer.append("[Concurrency ").append(String.valueOf(level.getConcurrency())).append("]");
+                writer.append("\nThroughput: ").append(String.format("%.1f", level.getThroughput())).append(" ops/sec");
+                writer.append("\nLatency Avg / P50 / P99: ").append(String.valueOf(level.getAvg_latency()))
+                        .append("ms / ").append(String.valueOf(level.getP50_latency()))
+                        .append("ms / ").append(String.valueOf(level.getP99_latency())).append("ms");
+                writer.append("\nOperations / Errors: ").append(String.valueOf(level.getOperations()))
+                        .append(" / ").append(String.valueOf(level.getErrors()))
+                        .append(String.format(" (%.1f%% errors)", level.getError_rate() * 100));
+                writer.append("\nWindows: ").append(String.valueOf(level.getWindows()))
+                        .append(level.isStable() ? " (stable)" : " (not stable)");
+                writer.append("\n\n");
+            }
+            writer.append("Recommended Max Concurrency: ").append(String.valueOf(recommendedConcurrency));
+            writer.append("\n\n");
+
+            List<RampLevelStats> sorted = new ArrayList<>(levels);
+            sorted.sort(Comparator.comparingInt(RampLevelStats::getConcurrency));
+            XYSeries curve = new XYSeries("P99 Latency", false);
+            for (RampLevelStats level : sorted) {
+                curve.add(level.getThroughput(), level.getP99_latency());
+            }
+            JFreeChart lineChart = ChartFactory.createXYLineChart("Throughput vs P99 Latency", "Throughput (ops/sec)",
+                    "P99 Latency (ms)", new XYSeriesCollection(curve));
+            XYLineAndShapeRenderer renderer = new XYLineAndShapeRenderer(true, true);
+            renderer.setDefaultItemLabelGenerator((dataset, series, item) -> "c=" + sorted.get(item).getConcurrency());
+            renderer.setDefaultItemLabelsVisible(true);
+            lineChart.getXYPlot().setRenderer(renderer);
+            String chartFile = statsFile.substring(0,statsFile.length() - 4) + ".png";
+            ChartUtils.saveChartAsPNG(new File(chartFile), lineChart, 800, 500);
+
+            writer.append("========================= End of SMB Concurrency Ramp Report ======================\n\n");
+        } catch (IOException e) {
+            throw new SMBPException("Exception occurred during generateRampReport()", e);
+        }
+    }
+
+    /**
+     * Appends ingest workload statistics to a file and charts the average latency of each phase per library.
+     * @param ingestStats The list of IngestStats, one per library.
+     * @param statsFile The file path where the ingest report will be generated.
+     * @throws SMBPException Thrown if an exception occurs during the report generation process.
+     */
+    public static void generateIngestReport(List<IngestStats> ingestStats, String statsFile) throws SMBPException {
+        try (FileWriter writer = new FileWriter(statsFile, true)) {
+            writer.append("========================= SMB Ingest Report =========================\n\n");
+            DefaultCategoryDataset dataset = new DefaultCategoryDataset();
+            for (IngestStats stats : ingestStats) {
+                writer.append("[").append(stats.getLibrary()).append("]");
+                writer.append("\nFiles / Failed: ").append(String.valueOf(stats.getFiles()))
+                        .append(" / ").append(String.valueOf(stats.getFailed_files()));
+                writer.append("\nBytes Written: ").append(String.valueOf(stats.getBytes_written()));
+                writer.append("\nTime Taken: ").append(String.valueOf(stats.getTime_taken())).append("ms");
+                writer.append("\nFiles/sec: ").append(String.format("%.1f", stats.getFiles_per_sec()));
+                for (Map.Entry<String, Long> phase : stats.getAvg_phase_latency().entrySet()) {
+                    writer.append("\n").append(phase.getKey()).append(" Avg / P99: ");
+                    if (phase.getValue() == null) {
+                        writer.append("n/a");
+                        continue;
+                    }
+                    writer.append(String.valueOf(phase.getValue()))
+                            .append("us / ").append(String.valueOf(stats.getP99_phase_latency().get(phase.getKey()))).append("us");
+                    dataset.addValue(phase.getValue(), stats.getLibrary(), phase.getKey());
+                }
+                writer.append("\n\n");
+            }
+
+            String chartFile = statsFile.substring(0,statsFile.length() - 4) + ".png";
+            JFreeChart barChart = ChartFactory.createBarChart(
+                    "Average Ingest Phase Latency",
+                    "Phase",
+                    "Average Time (us)",
+                    dataset
+            );
+            ChartUtils.saveChartAsPNG(new File(chartFile), barChart, 600, 400);
+
+            writer.append("========================= End of SMB Ingest Report ======================\n\n");
+        } catch (IOException e) {
+            throw new SMBPException("Exception occurred during generateIngestReport()", e);
+        }
+    }
+
+    /**
+     * Generates a metadata report comparing the requests sent and latency of the metadata modes and saves a chart of their average latency.
+     * @param metadataStats The MetadataStats of every mode.
+     * @param statsFile The file path where the report will be generated.
+     * @throws SMBPException Thrown if an error occurs during report generation.
+     */
+    public static void generateMetadataReport(List<MetadataStats> metadataStats, String statsFile) throws SMBPException {
+        try (FileWriter writer = new FileWriter(statsFile, true)) {
+            writer.append("========================= SMB Metadata Report =========================\n\n");
+            DefaultCategoryDataset dataset = new DefaultCategoryDataset();
+            for (MetadataStats stats : metadataStats) {
+                writer.append("[").append(stats.getMode()).append("]");
+                writer.append("\nCalls: ").append(String.valueOf(stats.getCalls()));
+                writer.append("\nRequests: ").append(String.valueOf(stats.getRequests()));
+                writer.append("\nRequests/Call: ").append(String.format("%.1f", stats.getRequests_per_call()));
+                writer.append("\nAvg / P99 Latency: ").append(String.valueOf(stats.getAvg_latency()))
+                        .append("us / ").append(String.valueOf(stats.getP99_latency())).append("us");
+                writer.append("\nTime Taken: ").append(String.valueOf(stats.getTime_taken())).append("ms");
+                writer.append("\n\n");
+                dataset.addValue(stats.getAvg_latency(), "Average", stats.getMode());
+            }
+
+            String chartFile = statsFile.substring(0,statsFile.length() - 4) + ".png";
+            JFreeChart barChart = ChartFactory.createBarChart(
+                    "Average Metadata Latency",
+                    "Mode",
+                    "Average Time (us)",
+                    dataset
+            );
+            ChartUtils.saveChartAsPNG(new File(chartFile), barChart, 800, 400);
+
+            writer.append("========================= End of SMB Metadata Report ======================\n\n");
+        } catch (IOException e) {
+            throw new SMBPException("Exception occurred during generateMetadataReport()", e);
+        }
+    }
+
+    /**
+     * Generates a lease report comparing re-read and break latency, bytes fetched, requests sent and stale reads of the
+     * read modes, and saves a chart of their average re-read and break latency.
+     * @param leaseStats The LeaseStats of every mode.
+     * @param statsFile The file path where the report will be generated.
+     * @throws SMBPException Thrown if an error occurs during report generation.
+     */
+    public static void generateLeaseReport(List<LeaseStats> leaseStats, String statsFile) throws SMBPException {
+        try (FileWriter writer = new FileWriter(statsFile, true)) {
+            writer.append("========================= SMB Lease Report =========================\n\n");
+            DefaultCategoryDataset dataset = new DefaultCategoryDataset();
+            for (LeaseStats stats : leaseStats) {
+                writer.append("[").append(stats.getMode()).append("]");
+                writer.append("\nReads: ").append(String.valueOf(stats.getReads()));
+                writer.append("\nBytes Fetched: ").append(String.valueOf(stats.getBytes_fetched()));
+                writer.append("\nRequests: ").append(String.valueOf(stats.getRequests()));
+                writer.append("\nRe-read Avg / P99: ").append(String.valueOf(stats.getAvg_reread_latency()))
+                        .append("us / ").append(String.valueOf(stats.getP99_reread_latency())).append("us");
+                writer.append("\nBreaks: ").append(String.valueOf(stats.getBreaks()));
+                writer.append("\nStale Reads: ").append(String.valueOf(stats.getStale_reads()));
+                writer.append("\nAfter Break Avg / P99: ").append(String.valueOf(stats.getAvg_break_latency()))
+                        .append("us / ").append(String.valueOf(stats.getP99_break_latency())).append("us");
+                writer.append("\nTime Taken: ").append(String.valueOf(stats.getTime_taken())).append("ms");
+                writer.append("\n\n");
+                dataset.addValue(stats.getAvg_reread_latency(), "Re-read", stats.getMode());
+                dataset.addValue(stats.getAvg_break_latency(), "After Break", stats.getMode());
+            }
+
+            String chartFile = statsFile.substring(0,statsFile.length() - 4) + ".png";
+            JFreeChart barChart = ChartFactory.createBarChart(
+                    "Average Read Latency",
+                    "Mode",
+                    "Average Time (us)",
+                    dataset
+            );
+            ChartUtils.saveChartAsPNG(new File(chartFile), barChart, 800, 400);
+
+            writer.append("========================= End of SMB Lease Report ======================\n\n");
+        } catch (IOException e) {
+            throw new SMBPException("Exception occurred during generateLeaseReport()", e);
+        }
+    }
+}
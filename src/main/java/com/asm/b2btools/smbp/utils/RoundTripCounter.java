@@ -0,0 +1,81 @@
+package com.asm.b2btools.smbp.utils;
+
+import com.hierynomus.protocol.transport.PacketHandlers;
+import com.hierynomus.protocol.transport.TransportException;
+import com.hierynomus.protocol.transport.TransportLayer;
+import com.hierynomus.smb.SMBPacket;
+import com.hierynomus.smb.SMBPacketData;
+import com.hierynomus.smbj.SMBClient;
+import com.hierynomus.smbj.SmbConfig;
+import com.hierynomus.smbj.transport.TransportLayerFactory;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The RoundTripCounter class counts the SMB requests an SMBClient sends to the server.
+ * It wraps the default smbj transport, so every packet written on a connection created by newClient()
+ * is counted, including negotiate, session setup and tree connect. The count is the number of requests sent,
+ * not of round trips waited on: a close that is not waited on, requests sent in parallel and an outstanding
+ * CHANGE_NOTIFY are each counted once although the caller does not wait on them one after another.
+ * @since 19-10-2026
+ */
+public class RoundTripCounter implements TransportLayerFactory<SMBPacketData<?>, SMBPacket<?, ?>> {
+
+    private final TransportLayerFactory<SMBPacketData<?>, SMBPacket<?, ?>> delegate;
+    private final SmbConfig smbjConfig;
+    private final AtomicLong requests = new AtomicLong();
+
+    public RoundTripCounter() {
+        SmbConfig defaultConfig = SmbConfig.createDefaultConfig();
+        this.delegate = defaultConfig.getTransportLayerFactory();
+        this.smbjConfig = SmbConfig.builder(defaultConfig).withTransportLayerFactory(this).build();
+    }
+
+    /**
+     * Creates an SMBClient whose connections are counted by this RoundTripCounter.
+     * @return A new SMBClient.
+     */
+    public SMBClient newClient() {
+        return new SMBClient(smbjConfig);
+    }
+
+    public long getRequests() {
+        return requests.get();
+    }
+
+    /**
+     * Resets the count, typically once the connection is set up so only the measured operations are counted.
+     */
+    public void reset() {
+        requests.set(0L);
+    }
+
+    @Override
+    public TransportLayer<SMBPacket<?, ?>> createTransportLayer(PacketHandlers<SMBPacketData<?>, SMBPacket<?, ?>> handlers, SmbConfig config) {
+        final TransportLayer<SMBPacket<?, ?>> transport = delegate.createTransportLayer(handlers, config);
+        return new TransportLayer<SMBPacket<?, ?>>() {
+            @Override
+            public void write(SMBPacket<?, ?> packet) throws TransportException {
+                requests.incrementAndGet();
+                transport.write(packet);
+            }
+
+            @Override
+            public void connect(InetSocketAddress remoteAddress) throws IOException {
+                transport.connect(remoteAddress);
+            }
+
+            @Override
+            public void disconnect() throws IOException {
+                transport.disconnect();
+            }
+
+            @Override
+            public boolean isConnected() {
+                return transport.isConnected();
+            }
+        };
+    }
+}
@@ -0,0 +1,66 @@
+package com.asm.b2btools.smbp.utils;
+
+import com.asm.b2btools.smbp.model.SMBConfig;
+import com.hierynomus.smbj.share.DiskShare;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The SMBPathUtils class provides the share-relative path helpers shared by the workloads: building paths under
+ * smb.dir_name, and creating and removing the work directories a workload writes into.
+ * @since 19-10-2026
+ */
+public final class SMBPathUtils {
+
+    private static final Logger logger = LoggerFactory.getLogger(SMBPathUtils.class);
+
+    private SMBPathUtils() {
+
+    }
+
+    /**
+     * @param smbConfig The SMB configuration.
+     * @return smb.dir_name, or the share root ("") if it is not set.
+     */
+    public static String rootPath(SMBConfig smbConfig) {
+        return smbConfig.getDIR_NAME() == null ? "" : smbConfig.getDIR_NAME();
+    }
+
+    /**
+     * Joins a share-relative parent path and a name with the SMB path separator.
+     * @param parent The parent path, "" for the share root.
+     * @param name The name of the child.
+     * @return The share-relative path of the child.
+     */
+    public static String childPath(String parent, String name) {
+        return parent.isEmpty() ? name : parent + "\\" + name;
+    }
+
+    /**
+     * Creates an empty directory, removing whatever a previous run left in it.
+     * @param share The connected share.
+     * @param path The share-relative path of the directory.
+     */
+    public static void recreateDirectory(DiskShare share, String path) {
+        if (share.folderExists(path)) {
+            share.rmdir(path, true);
+        }
+        share.mkdir(path);
+    }
+
+    /**
+     * Removes a directory and its content, logging a warning instead of failing so cleanup never hides the outcome of a run.
+     * @param share The connected share.
+     * @param path The share-relative path of the directory.
+     */
+    public static void removeDirectory(DiskShare share, String path) {
+        try {
+            if (share.folderExists(path)) {
+                share.rmdir(path, true);
+            }
+        } catch (Exception e) {
+            logger.warn("Could not remove " + path + ": " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.asm.b2btools.smbp.utils;
+
+import com.asm.b2btools.smbp.model.SMBConfig;
+import com.hierynomus.smbj.SMBClient;
+import com.hierynomus.smbj.auth.AuthenticationContext;
+import com.hierynomus.smbj.connection.Connection;
+import com.hierynomus.smbj.session.Session;
+import com.hierynomus.smbj.share.DiskShare;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * The SMBShareConnection class holds a connected, authenticated DiskShare that stays open across operations.
+ * Unlike SMBUtils, which pays the connect/authenticate/tree connect cost on every call, workloads use this
+ * to keep a fixed number of long-lived connections to the share.
+ * @since 19-10-2026
+ */
+public class SMBShareConnection implements Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(SMBShareConnection.class);
+
+    private final SMBClient client;
+    private final Connection connection;
+    private final Session session;
+    private final DiskShare share;
+
+    private SMBShareConnection(SMBClient client, Connection connection, Session session, DiskShare share) {
+        this.client = client;
+        this.connection = connection;
+        this.session = session;
+        this.share = share;
+    }
+
+    /**
+     * Connects, authenticates and connects to the configured share using a default SMBClient.
+     * @param smbConfig The SMB configuration.
+     * @return An open SMBShareConnection.
+     * @throws IOException Thrown if the connection to the server cannot be established.
+     */
+    public static SMBShareConnection open(SMBConfig smbConfig) throws IOException {
+        return open(smbConfig, new SMBClient());
+    }
+
+    /**
+     * Connects, authenticates and connects to the configured share using the given SMBClient.
+     * The returned SMBShareConnection owns the client and closes it on close().
+     * @param smbConfig The SMB configuration.
+     * @param client The SMBClient to connect with.
+     * @return An open SMBShareConnection.
+     * @throws IOException Thrown if the connection to the server cannot be established.
+     */
+    public static SMBShareConnection open(SMBConfig smbConfig, SMBClient client) throws IOException {
+        Connection connection = null;
+        try {
+            connection = client.connect(smbConfig.getSERVER_ADDRESS());
+            AuthenticationContext ac = new AuthenticationContext(smbConfig.getUSERNAME(), smbConfig.getPASSWORD().toCharArray(), smbConfig.getDOMAIN());
+            Session session = connection.authenticate(ac);
+            DiskShare share = (DiskShare) session.connectShare(smbConfig.getSHARE_NAME());
+            return new SMBShareConnection(client, connection, session, share);
+        } catch (IOException | RuntimeException e) {
+            if (connection != null) {
+                connection.close(true);
+            }
+            client.close();
+            throw e;
+        }
+    }
+
+    public DiskShare getShare() {
+        return share;
+    }
+
+    public Session getSession() {
+        return session;
+    }
+
+    @Override
+    public void close() {
+        try {
+            share.close();
+            session.close();
+            connection.close();
+        } catch (Exception e) {
+            logger.warn("Error while closing share connection: " + e.getMessage());
+        } finally {
+            client.close();
+        }
+    }
+}
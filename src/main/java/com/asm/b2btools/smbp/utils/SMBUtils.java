@@ -1,23 +1,40 @@
 package com.asm.b2btools.smbp.utils;
 
 import com.asm.b2btools.smbp.exception.SMBPException;
+import com.hierynomus.msdtyp.AccessMask;
+import com.hierynomus.mserref.NtStatus;
+import com.hierynomus.msfscc.fileinformation.FileStandardInformation;
+import com.hierynomus.mssmb2.SMB2CreateDisposition;
+import com.hierynomus.mssmb2.SMB2ShareAccess;
+import com.hierynomus.mssmb2.SMBApiException;
 import com.hierynomus.smbj.SMBClient;
 import com.hierynomus.smbj.auth.AuthenticationContext;
 import com.hierynomus.smbj.connection.Connection;
 import com.hierynomus.smbj.session.Session;
+import com.hierynomus.smbj.share.DiskEntry;
 import com.hierynomus.smbj.share.DiskShare;
 
 import com.asm.b2btools.smbp.model.SMBConfig;
+import com.asm.b2btools.smbp.model.SMBPathMetadata;
 import com.asm.b2btools.smbp.model.SMBStats;
+import com.asm.b2btools.smbp.telemetry.SMBOperationRecorder;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 /**
  * The SMBUtils class provides utility methods for profiling SMB operations.
  * It includes functionality to check the existence of a file, verify if it's a directory,
  * and measure the length of a file using the hierynomus SMBJ library.
+ * It also provides an optimised metadata path that resolves all three for a path with a single open.
  * @author asmishra
  * @since 08-12-2023
  */
@@ -33,39 +50,61 @@ public class SMBUtils {
      * @throws SMBPException Thrown if an unexpected SMB exception occurs.
      */
     public static boolean exists(SMBConfig smbConfig, SMBStats smbStats) throws SMBPException {
+        return exists(smbConfig, smbStats, new SMBClient());
+    }
+
+    /**
+     * Checks the existence of a file on an SMB share.
+     * Connects through the given SMBClient and takes ownership of it: the client is closed once the check is done,
+     * so pass a client that is not shared, such as one from RoundTripCounter.newClient().
+     * @param smbConfig The SMB configuration.
+     * @param smbStats An SMBStats object to record profiling information.
+     * @param client The SMBClient to connect with, closed by this method.
+     * @return True if the file exists, false otherwise.
+     * @throws SMBPException Thrown if an unexpected SMB exception occurs.
+     */
+    public static boolean exists(SMBConfig smbConfig, SMBStats smbStats, SMBClient client) throws SMBPException {
         logger.debug("ENTRY -> exists()");
         boolean exists = false;
-        SMBClient client = new SMBClient();
+        SMBOperationRecorder event = new SMBOperationRecorder("smbj", "exists", smbConfig.getFILE_NAME());
+        event.begin();
         long startTime = System.currentTimeMillis();
         long endTime = 0L;
         try ( Connection connection = client.connect(smbConfig.getSERVER_ADDRESS())) {
             long connectEndTime = System.currentTimeMillis();
             logger.debug("Time taken to connect: " + (connectEndTime - startTime) + " milliseconds");
+            event.setConnectTime(connectEndTime - startTime);
 
             AuthenticationContext ac = new AuthenticationContext(smbConfig.getUSERNAME(), smbConfig.getPASSWORD().toCharArray(), smbConfig.getDOMAIN());
             Session session = connection.authenticate(ac);
 
             long authEndTime = System.currentTimeMillis();
             logger.debug("Time taken for authentication: " + (authEndTime - connectEndTime) + " milliseconds");
+            event.setAuthTime(authEndTime - connectEndTime);
 
             try (DiskShare share = (DiskShare) session.connectShare(smbConfig.getSHARE_NAME())) {
                 long shareConnectEndTime = System.currentTimeMillis();
                 logger.debug("Time taken to connect to share: " + (shareConnectEndTime - authEndTime) + " milliseconds");
+                event.setShareConnectTime(shareConnectEndTime - authEndTime);
 
                 exists = share.folderExists(smbConfig.getFILE_NAME()) || share.fileExists(smbConfig.getFILE_NAME());
 
                 long existsCheckEndTime = System.currentTimeMillis();
                 logger.debug("Time taken for exists check: " + (existsCheckEndTime - shareConnectEndTime) + " milliseconds");
+                event.setOperationTime(existsCheckEndTime - shareConnectEndTime);
                 endTime = existsCheckEndTime - startTime;
             }
         } catch (Exception e) {
+            event.setFailure(e);
             logger.error(e.getMessage(), e);
             throw new SMBPException(e);
         } finally {
             client.close();
+            event.commit();
         }
         logger.debug("Time taken for exists(): " + endTime + " milliseconds");
         smbStats.setExists_call_time_taken(String.valueOf(endTime));
+        smbStats.setExists_call_start_time(startTime);
         logger.debug("EXIT -> exists()");
         return exists;
     }
@@ -78,39 +117,61 @@ public class SMBUtils {
      * @throws SMBPException Thrown if an unexpected SMB exception occurs.
      */
     public static boolean isDirectory(SMBConfig smbConfig, SMBStats smbStats) throws SMBPException {
+        return isDirectory(smbConfig, smbStats, new SMBClient());
+    }
+
+    /**
+     * Checks if a path on an SMB share represents a directory.
+     * Connects through the given SMBClient and takes ownership of it: the client is closed once the check is done,
+     * so pass a client that is not shared, such as one from RoundTripCounter.newClient().
+     * @param smbConfig The SMB configuration.
+     * @param smbStats An SMBStats object to record profiling information.
+     * @param client The SMBClient to connect with, closed by this method.
+     * @return True if the path is a directory, false otherwise.
+     * @throws SMBPException Thrown if an unexpected SMB exception occurs.
+     */
+    public static boolean isDirectory(SMBConfig smbConfig, SMBStats smbStats, SMBClient client) throws SMBPException {
         logger.debug("ENTRY -> isDirectory()");
         boolean isDirectory = false;
-        SMBClient client = new SMBClient();
+        SMBOperationRecorder event = new SMBOperationRecorder("smbj", "isDirectory", smbConfig.getDIR_NAME());
+        event.begin();
         long startTime = System.currentTimeMillis();
         long endTime = 0L;
         try (Connection connection = client.connect(smbConfig.getSERVER_ADDRESS())) {
             long connectEndTime = System.currentTimeMillis();
             logger.debug("Time taken to connect: " + (connectEndTime - startTime) + " milliseconds");
+            event.setConnectTime(connectEndTime - startTime);
 
             AuthenticationContext ac = new AuthenticationContext(smbConfig.getUSERNAME(), smbConfig.getPASSWORD().toCharArray(), smbConfig.getDOMAIN());
             Session session = connection.authenticate(ac);
 
             long authEndTime = System.currentTimeMillis();
             logger.debug("Time taken for authentication: " + (authEndTime - connectEndTime) + " milliseconds");
+            event.setAuthTime(authEndTime - connectEndTime);
 
             try (DiskShare share = (DiskShare) session.connectShare(smbConfig.getSHARE_NAME())) {
                 long shareConnectEndTime = System.currentTimeMillis();
                 logger.debug("Time taken to connect to share: " + (shareConnectEndTime - authEndTime) + " milliseconds");
+                event.setShareConnectTime(shareConnectEndTime - authEndTime);
 
                 isDirectory = share.folderExists(smbConfig.getDIR_NAME());
 
                 long isDirectoryEndTime = System.currentTimeMillis();
                 logger.debug("Time taken for directory check: " + (isDirectoryEndTime - shareConnectEndTime) + " milliseconds");
+                event.setOperationTime(isDirectoryEndTime - shareConnectEndTime);
                 endTime = isDirectoryEndTime - startTime;
             }
         } catch (Exception e) {
+            event.setFailure(e);
             logger.error(e.getMessage(), e);
             throw new SMBPException(e);
         } finally {
             client.close();
+            event.commit();
         }
         logger.debug("Time taken for isDirectory(): " + endTime + " milliseconds");
         smbStats.setIs_directory_call_time_taken(String.valueOf(endTime));
+        smbStats.setIs_directory_call_start_time(startTime);
         logger.debug("EXIT -> isDirectory()");
         return isDirectory;
     }
@@ -123,41 +184,163 @@ public class SMBUtils {
      * @throws SMBPException Thrown if an unexpected SMB exception occurs.
      */
     public static long length(SMBConfig smbConfig, SMBStats smbStats) throws SMBPException {
+        return length(smbConfig, smbStats, new SMBClient());
+    }
+
+    /**
+     * Measures the length of a file on an SMB share.
+     * Connects through the given SMBClient and takes ownership of it: the client is closed once the check is done,
+     * so pass a client that is not shared, such as one from RoundTripCounter.newClient().
+     * @param smbConfig The SMB configuration.
+     * @param smbStats An SMBStats object to record profiling information.
+     * @param client The SMBClient to connect with, closed by this method.
+     * @return The length of the file in bytes.
+     * @throws SMBPException Thrown if an unexpected SMB exception occurs.
+     */
+    public static long length(SMBConfig smbConfig, SMBStats smbStats, SMBClient client) throws SMBPException {
         logger.debug("ENTRY -> length()");
         long length = 0L;
-        SMBClient client = new SMBClient();
+        SMBOperationRecorder event = new SMBOperationRecorder("smbj", "length", smbConfig.getFILE_NAME());
+        event.begin();
         long startTime = System.currentTimeMillis();
         long endTime = 0L;
         try ( Connection connection = client.connect(smbConfig.getSERVER_ADDRESS())) {
             long connectEndTime = System.currentTimeMillis();
             logger.debug("Time taken to connect: " + (connectEndTime - startTime) + " milliseconds");
+            event.setConnectTime(connectEndTime - startTime);
 
             AuthenticationContext ac = new AuthenticationContext(smbConfig.getUSERNAME(), smbConfig.getPASSWORD().toCharArray(), smbConfig.getDOMAIN());
             Session session = connection.authenticate(ac);
 
             long authEndTime = System.currentTimeMillis();
             logger.debug("Time taken for authentication: " + (authEndTime - connectEndTime) + " milliseconds");
+            event.setAuthTime(authEndTime - connectEndTime);
 
             try (DiskShare share = (DiskShare) session.connectShare(smbConfig.getSHARE_NAME())) {
                 long shareConnectEndTime = System.currentTimeMillis();
                 logger.debug("Time taken to connect to share: " + (shareConnectEndTime - authEndTime) + " milliseconds");
+                event.setShareConnectTime(shareConnectEndTime - authEndTime);
 
                 length = share.getFileInformation(smbConfig.getFILE_NAME()).getStandardInformation().getEndOfFile();
 
                 long lengthCheckEndTime = System.currentTimeMillis();
                 logger.debug("Time taken for length check: " + (lengthCheckEndTime - shareConnectEndTime) + " milliseconds");
+                event.setOperationTime(lengthCheckEndTime - shareConnectEndTime);
                 endTime = lengthCheckEndTime - startTime;
             }
         } catch (Exception e) {
+            event.setFailure(e);
             logger.error(e.getMessage(), e);
             throw new SMBPException(e);
         } finally {
             client.close();
+            event.commit();
         }
         logger.debug("Time taken for length(): " + endTime + " milliseconds");
         smbStats.setLength_call_time_taken(String.valueOf(endTime));
+        smbStats.setLength_call_start_time(startTime);
         logger.debug("EXIT -> length()");
         return length;
     }
 
-}
+    /**
+     * Resolves existence, type and length of a path with a single open on an already connected share.
+     * The path is opened with FILE_READ_ATTRIBUTES only, queried once for FileStandardInformation and closed
+     * without waiting for the CLOSE response, so the caller waits on two round trips (one for a missing path) where
+     * exists/isDirectory/length each open the path again. smbj cannot send compounded requests, so this is as
+     * close to a single request sequence as the library allows.
+     * The SMB operation event only carries the operation time, the share is already connected.
+     * @param share The connected share.
+     * @param path The path to resolve.
+     * @return The SMBPathMetadata of the path.
+     */
+    public static SMBPathMetadata getMetadata(DiskShare share, String path) {
+        SMBOperationRecorder event = new SMBOperationRecorder("smbj", "getMetadata", path);
+        event.begin();
+        long startTime = System.currentTimeMillis();
+        try {
+            DiskEntry entry;
+            try {
+                entry = share.open(path,
+                        EnumSet.of(AccessMask.FILE_READ_ATTRIBUTES),
+                        null,
+                        SMB2ShareAccess.ALL,
+                        SMB2CreateDisposition.FILE_OPEN,
+                        null);
+            } catch (SMBApiException e) {
+                if (e.getStatus() == NtStatus.STATUS_OBJECT_NAME_NOT_FOUND
+                        || e.getStatus() == NtStatus.STATUS_OBJECT_PATH_NOT_FOUND
+                        || e.getStatus() == NtStatus.STATUS_DELETE_PENDING) {
+                    return new SMBPathMetadata(path, false, false, 0L);
+                }
+                throw e;
+            }
+            try {
+                FileStandardInformation info = entry.getFileInformation(FileStandardInformation.class);
+                return new SMBPathMetadata(path, true, info.isDirectory(), info.isDirectory() ? 0L : info.getEndOfFile());
+            } finally {
+                entry.closeNoWait();
+            }
+        } catch (RuntimeException e) {
+            event.setFailure(e);
+            throw e;
+        } finally {
+            event.setOperationTime(System.currentTimeMillis() - startTime);
+            event.commit();
+        }
+    }
+
+    /**
+     * Resolves the metadata of many paths over a single session, with at most the given number of requests in flight.
+     * @param smbConfig The SMB configuration.
+     * @param paths The paths to resolve.
+     * @param parallelism The maximum number of paths resolved concurrently.
+     * @return The SMBPathMetadata of every path, in the order of the given paths.
+     * @throws SMBPException Thrown if an unexpected SMB exception occurs.
+     */
+    public static List<SMBPathMetadata> getMetadata(SMBConfig smbConfig, List<String> paths, int parallelism) throws SMBPException {
+        try (SMBShareConnection connection = SMBShareConnection.open(smbConfig)) {
+            return getMetadata(connection.getShare(), paths, parallelism);
+        } catch (SMBPException e) {
+            throw e;
+        } catch (Exception e) {
+            logger.error(e.getMessage(), e);
+            throw new SMBPException(e);
+        }
+    }
+
+    /**
+     * Resolves the metadata of many paths on an already connected share, with at most the given number of
+     * requests in flight. smbj multiplexes the concurrent requests over the share's single connection.
+     * @param share The connected share.
+     * @param paths The paths to resolve.
+     * @param parallelism The maximum number of paths resolved concurrently.
+     * @return The SMBPathMetadata of every path, in the order of the given paths.
+     * @throws SMBPException Thrown if an unexpected SMB exception occurs.
+     */
+    public static List<SMBPathMetadata> getMetadata(DiskShare share, List<String> paths, int parallelism) throws SMBPException {
+        logger.debug("ENTRY -> getMetadata() for " + paths.size() + " paths");
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Math.min(parallelism, paths.size())));
+        try {
+            List<Future<SMBPathMetadata>> futures = new ArrayList<>();
+            for (String path : paths) {
+                futures.add(executor.submit(() -> getMetadata(share, path)));
+            }
+            List<SMBPathMetadata> metadata = new ArrayList<>();
+            for (Future<SMBPathMetadata> future : futures) {
+                metadata.add(future.get());
+            }
+            logger.debug("EXIT -> getMetadata()");
+            return metadata;
+        } catch (ExecutionException e) {
+            logger.error(e.getCause().getMessage(), e.getCause());
+            throw new SMBPException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SMBPException("Interrupted while resolving metadata", e);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+}
\ No newline at end of file
@@ -3,6 +3,7 @@ package com.asm.b2btools.smbp.utils;
 import com.asm.b2btools.smbp.exception.SMBPException;
 import com.asm.b2btools.smbp.model.SMBConfig;
 import com.asm.b2btools.smbp.model.SMBStats;
+import com.asm.b2btools.smbp.telemetry.SMBOperationRecorder;
 
 import jcifs.smb.NtlmPasswordAuthentication;
 import jcifs.smb.SmbFile;
@@ -34,6 +35,8 @@ public class SMBUtilsV1 {
         boolean exists = false;
         String smbFilename = getSMBFileName(smbConfig.getFILE_NAME(), smbConfig.getSERVER_ADDRESS(), smbConfig.getSHARE_NAME());
         NtlmPasswordAuthentication auth = new NtlmPasswordAuthentication("", smbConfig.getUSERNAME(), smbConfig.getPASSWORD());
+        SMBOperationRecorder event = new SMBOperationRecorder("jcifs", "exists", smbConfig.getFILE_NAME());
+        event.begin();
         long startTime = System.currentTimeMillis();
         long endTime = 0L;
         try {
@@ -46,14 +49,19 @@ public class SMBUtilsV1 {
 
             long existsCheckEndTime = System.currentTimeMillis();
             logger.debug("Time taken for exists check: " + (existsCheckEndTime - smbFileEndTime) + " milliseconds");
+            event.setOperationTime(existsCheckEndTime - smbFileEndTime);
 
             endTime = existsCheckEndTime - startTime;
         } catch (Exception e) {
+            event.setFailure(e);
             logger.error(e.getMessage(), e);
             throw new SMBPException(e);
+        } finally {
+            event.commit();
         }
         logger.debug("Time taken for exists(): " + endTime + " milliseconds");
         smbStats.setExists_call_time_taken(String.valueOf(endTime));
+        smbStats.setExists_call_start_time(startTime);
         logger.debug("EXIT -> exists()");
         return exists;
     }
@@ -74,6 +82,8 @@ public class SMBUtilsV1 {
         boolean isDirectory = false;
         String smbFilename = getSMBFileName(smbConfig.getDIR_NAME(), smbConfig.getSERVER_ADDRESS(), smbConfig.getSHARE_NAME());
         NtlmPasswordAuthentication auth = new NtlmPasswordAuthentication("", smbConfig.getUSERNAME(), smbConfig.getPASSWORD());
+        SMBOperationRecorder event = new SMBOperationRecorder("jcifs", "isDirectory", smbConfig.getDIR_NAME());
+        event.begin();
         long startTime = System.currentTimeMillis();
         long endTime = 0L;
         try {
@@ -86,13 +96,18 @@ public class SMBUtilsV1 {
 
             long isDirectoryEndTime = System.currentTimeMillis();
             logger.debug("Time taken for directory check: " + (isDirectoryEndTime - smbFileEndTime) + " milliseconds");
+            event.setOperationTime(isDirectoryEndTime - smbFileEndTime);
             endTime = isDirectoryEndTime - startTime;
         } catch (Exception e) {
+            event.setFailure(e);
             logger.error(e.getMessage(), e);
             throw new SMBPException(e);
+        } finally {
+            event.commit();
         }
         logger.debug("Time taken for isDirectory(): " + endTime + " milliseconds");
         smbStats.setIs_directory_call_time_taken(String.valueOf(endTime));
+        smbStats.setIs_directory_call_start_time(startTime);
         logger.debug("EXIT -> isDirectory()");
         return isDirectory;
     }
@@ -109,6 +124,8 @@ public class SMBUtilsV1 {
         long length = 0L;
         String smbFilename = getSMBFileName(smbConfig.getFILE_NAME(), smbConfig.getSERVER_ADDRESS(), smbConfig.getSHARE_NAME());
         NtlmPasswordAuthentication auth = new NtlmPasswordAuthentication("", smbConfig.getUSERNAME(), smbConfig.getPASSWORD());
+        SMBOperationRecorder event = new SMBOperationRecorder("jcifs", "length", smbConfig.getFILE_NAME());
+        event.begin();
         long startTime = System.currentTimeMillis();
         long endTime = 0L;
         try {
@@ -121,14 +138,19 @@ public class SMBUtilsV1 {
 
             long lengthCheckEndTime = System.currentTimeMillis();
             logger.debug("Time taken for length check: " + (lengthCheckEndTime - smbFileEndTime) + " milliseconds");
+            event.setOperationTime(lengthCheckEndTime - smbFileEndTime);
 
             endTime = lengthCheckEndTime - startTime;
         } catch (Exception e) {
+            event.setFailure(e);
             logger.error(e.getMessage(), e);
             throw new SMBPException(e);
+        } finally {
+            event.commit();
         }
         logger.debug("Time taken for length(): " + endTime + " milliseconds");
         smbStats.setLength_call_time_taken(String.valueOf(endTime));
+        smbStats.setLength_call_start_time(startTime);
         logger.debug("EXIT -> length()");
         return length;
     }
@@ -0,0 +1,44 @@
+package com.asm.b2btools.smbp.utils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The StatsUtils class provides the small set of statistics the workloads report on latency samples.
+ * @since 19-10-2026
+ */
+public class StatsUtils {
+
+    /**
+     * Calculates a percentile of the samples using the nearest-rank method.
+     * @param samples The latency samples, in any order.
+     * @param percentile The percentile to calculate, between 0 and 100.
+     * @return The percentile value, or 0 if there are no samples.
+     */
+    public static long percentile(List<Long> samples, double percentile) {
+        if (samples.isEmpty()) {
+            return 0L;
+        }
+        List<Long> sorted = new ArrayList<>(samples);
+        Collections.sort(sorted);
+        int rank = (int) Math.ceil(percentile / 100.0 * sorted.size());
+        return sorted.get(Math.max(0, Math.min(rank, sorted.size()) - 1));
+    }
+
+    /**
+     * Calculates the average of the samples.
+     * @param samples The latency samples.
+     * @return The average value, or 0 if there are no samples.
+     */
+    public static long average(List<Long> samples) {
+        if (samples.isEmpty()) {
+            return 0L;
+        }
+        long total = 0L;
+        for (long sample : samples) {
+            total += sample;
+        }
+        return total / samples.size();
+    }
+}
@@ -0,0 +1,398 @@
+package com.asm.b2btools.smbp.workload;
+
+import com.asm.b2btools.smbp.exception.SMBPException;
+import com.asm.b2btools.smbp.model.IngestStats;
+import com.asm.b2btools.smbp.model.SMBConfig;
+import com.asm.b2btools.smbp.utils.SMBPathUtils;
+import com.asm.b2btools.smbp.utils.SMBShareConnection;
+import com.asm.b2btools.smbp.utils.StatsUtils;
+import com.hierynomus.msdtyp.AccessMask;
+import com.hierynomus.msfscc.FileAttributes;
+import com.hierynomus.mssmb2.SMB2CreateDisposition;
+import com.hierynomus.mssmb2.SMB2CreateOptions;
+import com.hierynomus.mssmb2.SMB2ShareAccess;
+import com.hierynomus.smbj.share.DiskShare;
+import com.hierynomus.smbj.share.File;
+
+import jcifs.smb.NtlmPasswordAuthentication;
+import jcifs.smb.SmbFile;
+import jcifs.smb.SmbFileOutputStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The IngestWorkload class measures per-file overhead of small-file ingest, the way B2B senders drop payloads.
+ * Every file is created, written, optionally flushed and closed in a work directory under smb.dir_name, and then
+ * optionally renamed into a pickup folder. The workload runs through smbj and jcifs with the same file count,
+ * size distribution and concurrency, and reports files/sec and the latency of each phase.
+ * smbj workers keep one session open each; jcifs manages its own connections. jcifs has no write-through
+ * open option and its output stream does not flush to the server, so smbp.ingest.write_through and
+ * smbp.ingest.flush only apply to smbj.
+ * @since 19-10-2026
+ */
+public class IngestWorkload {
+
+    private static final Logger logger = LoggerFactory.getLogger(IngestWorkload.class);
+
+    private static final String PHASE_CREATE = "Create";
+    private static final String PHASE_WRITE = "Write";
+    private static final String PHASE_FLUSH = "Flush";
+    private static final String PHASE_CLOSE = "Close";
+    private static final String PHASE_RENAME = "Rename";
+
+    private static final int FILES = Integer.getInteger("smbp.ingest.files", 500);
+    private static final String SIZES = System.getProperty("smbp.ingest.sizes", "1024,4096,16384");
+    private static final int CONCURRENCY = Integer.getInteger("smbp.ingest.concurrency", 4);
+    private static final boolean WRITE_THROUGH = Boolean.parseBoolean(System.getProperty("smbp.ingest.write_through", "false"));
+    private static final boolean FLUSH = Boolean.parseBoolean(System.getProperty("smbp.ingest.flush", "true"));
+    private static final String PICKUP_DIR = System.getProperty("smbp.ingest.pickup_dir");
+    private static final String LIBRARIES = System.getProperty("smbp.ingest.libraries", "smbj,jcifs");
+    private static final boolean CLEANUP = Boolean.parseBoolean(System.getProperty("smbp.ingest.cleanup", "true"));
+
+    private static final String WORK_DIR_NAME = "smbp_ingest_";
+
+    /**
+     * Runs the ingest workload for every library in smbp.ingest.libraries.
+     * @param smbConfig The SMB configuration.
+     * @return An IngestStats object per library.
+     * @throws SMBPException Thrown if an unexpected SMB exception occurs.
+     */
+    public static List<IngestStats> run(SMBConfig smbConfig) throws SMBPException {
+        logger.debug("ENTRY -> IngestWorkload.run()");
+        List<byte[]> payloads = createPayloads();
+        List<IngestStats> ingestStats = new ArrayList<>();
+        for (String library : LIBRARIES.split(",")) {
+            library = library.trim();
+            if (library.equalsIgnoreCase("smbj")) {
+                ingestStats.add(runSmbj(smbConfig, payloads));
+            } else if (library.equalsIgnoreCase("jcifs")) {
+                ingestStats.add(runJcifs(smbConfig, payloads));
+            } else {
+                logger.warn("Unknown ingest library " + library + ", skipping");
+            }
+        }
+        logger.debug("EXIT -> IngestWorkload.run()");
+        return ingestStats;
+    }
+
+    private static IngestStats runSmbj(SMBConfig smbConfig, List<byte[]> payloads) throws SMBPException {
+        String workDir = SMBPathUtils.childPath(SMBPathUtils.rootPath(smbConfig), WORK_DIR_NAME + "smbj");
+        try (SMBShareConnection connection = SMBShareConnection.open(smbConfig)) {
+            DiskShare share = connection.getShare();
+            if (!share.folderExists(workDir)) {
+                share.mkdir(workDir);
+            }
+            // A missing pickup folder would fail every rename and count good files as failed
+            if (PICKUP_DIR != null && !share.folderExists(PICKUP_DIR)) {
+                share.mkdir(PICKUP_DIR);
+            }
+            List<String> pickedUp = new ArrayList<>();
+            try {
+                return runIngest("smbj", payloads, pickedUp, () -> new SmbjIngester(SMBShareConnection.open(smbConfig), workDir));
+            } finally {
+                if (CLEANUP) {
+                    for (String path : pickedUp) {
+                        try {
+                            share.rm(path);
+                        } catch (Exception e) {
+                            logger.warn("Could not remove " + path + ": " + e.getMessage());
+                        }
+                    }
+                    SMBPathUtils.removeDirectory(share, workDir);
+                }
+            }
+        } catch (SMBPException e) {
+            throw e;
+        } catch (Exception e) {
+            logger.error(e.getMessage(), e);
+            throw new SMBPException(e);
+        }
+    }
+
+    private static IngestStats runJcifs(SMBConfig smbConfig, List<byte[]> payloads) throws SMBPException {
+        NtlmPasswordAuthentication auth = new NtlmPasswordAuthentication("", smbConfig.getUSERNAME(), smbConfig.getPASSWORD());
+        String workDir = SMBPathUtils.childPath(SMBPathUtils.rootPath(smbConfig), WORK_DIR_NAME + "jcifs");
+        try {
+            SmbFile workDirFile = new SmbFile(getSMBUrl(smbConfig, workDir) + "/", auth);
+            if (!workDirFile.exists()) {
+                workDirFile.mkdirs();
+            }
+            if (PICKUP_DIR != null) {
+                SmbFile pickupDirFile = new SmbFile(getSMBUrl(smbConfig, PICKUP_DIR) + "/", auth);
+                if (!pickupDirFile.exists()) {
+                    pickupDirFile.mkdirs();
+                }
+            }
+            List<String> pickedUp = new ArrayList<>();
+            try {
+                return runIngest("jcifs", payloads, pickedUp, () -> new JcifsIngester(smbConfig, auth, workDir));
+            } finally {
+                if (CLEANUP) {
+                    for (String path : pickedUp) {
+                        deleteJcifs(new SmbFile(getSMBUrl(smbConfig, path), auth));
+                    }
+                    deleteJcifs(workDirFile);
+                }
+            }
+        } catch (SMBPException e) {
+            throw e;
+        } catch (Exception e) {
+            logger.error(e.getMessage(), e);
+            throw new SMBPException(e);
+        }
+    }
+
+    /**
+     * Ingests smbp.ingest.files files from smbp.ingest.concurrency workers, each with its own ingester.
+     * @param library The library name for the report.
+     * @param payloads The payloads to pick file contents from.
+     * @param pickedUp Collects the pickup paths of renamed files, for cleanup.
+     * @param ingesterFactory Creates one ingester per worker.
+     * @return The IngestStats of the library.
+     */
+    private static IngestStats runIngest(String library, List<byte[]> payloads, List<String> pickedUp, IngesterFactory ingesterFactory) throws Exception {
+        logger.debug("Ingesting " + FILES + " files through " + library);
+        String runId = String.valueOf(System.currentTimeMillis());
+        AtomicInteger nextFile = new AtomicInteger();
+        AtomicLong failedFiles = new AtomicLong();
+        AtomicLong bytesWritten = new AtomicLong();
+        Queue<String> pickupPaths = new ConcurrentLinkedQueue<>();
+        PhaseRecorder recorder = new PhaseRecorder();
+        ExecutorService workers = Executors.newFixedThreadPool(CONCURRENCY);
+        List<Future<?>> futures = new ArrayList<>();
+        long startTime = System.currentTimeMillis();
+        try {
+            for (int i = 0; i < CONCURRENCY; i++) {
+                futures.add(workers.submit(() -> {
+                    try (Ingester ingester = ingesterFactory.create()) {
+                        int index;
+                        while ((index = nextFile.getAndIncrement()) < FILES) {
+                            byte[] payload = payloads.get(ThreadLocalRandom.current().nextInt(payloads.size()));
+                            String fileName = library + "_" + runId + "_" + index + ".dat";
+                            try {
+                                String pickupPath = ingester.ingest(fileName, payload, recorder);
+                                bytesWritten.addAndGet(payload.length);
+                                if (pickupPath != null) {
+                                    pickupPaths.add(pickupPath);
+                                }
+                            } catch (Exception e) {
+                                logger.error("Ingest of " + fileName + " failed: " + e.getMessage(), e);
+                                failedFiles.incrementAndGet();
+                            }
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            workers.shutdownNow();
+            pickedUp.addAll(pickupPaths);
+        }
+        long timeTaken = System.currentTimeMillis() - startTime;
+
+        IngestStats stats = new IngestStats(library);
+        stats.setFiles(FILES - failedFiles.get());
+        stats.setFailed_files(failedFiles.get());
+        stats.setBytes_written(bytesWritten.get());
+        stats.setTime_taken(timeTaken);
+        stats.setFiles_per_sec(timeTaken == 0 ? 0 : stats.getFiles() * 1000.0 / timeTaken);
+        for (String phase : new String[]{PHASE_CREATE, PHASE_WRITE, PHASE_FLUSH, PHASE_CLOSE, PHASE_RENAME}) {
+            Queue<Long> latencies = recorder.latencies.get(phase);
+            if (latencies != null) {
+                List<Long> samples = new ArrayList<>(latencies);
+                stats.getAvg_phase_latency().put(phase, StatsUtils.average(samples));
+                stats.getP99_phase_latency().put(phase, StatsUtils.percentile(samples, 99));
+            } else if (phase.equals(PHASE_FLUSH) && FLUSH) {
+                // Flushing was asked for but the library cannot flush, reported as n/a
+                stats.getAvg_phase_latency().put(phase, null);
+                stats.getP99_phase_latency().put(phase, null);
+            }
+        }
+        logger.debug("Ingest completed: " + stats);
+        return stats;
+    }
+
+    /**
+     * Parses smbp.ingest.sizes and creates one random payload per size; files pick a size uniformly.
+     */
+    private static List<byte[]> createPayloads() {
+        List<byte[]> payloads = new ArrayList<>();
+        Random random = new Random();
+        for (String size : SIZES.split(",")) {
+            byte[] payload = new byte[Integer.parseInt(size.trim())];
+            random.nextBytes(payload);
+            payloads.add(payload);
+        }
+        return payloads;
+    }
+
+    /**
+     * Deletes a file or directory tree through jcifs, logging a warning instead of failing so cleanup never hides the
+     * outcome of a run.
+     */
+    private static void deleteJcifs(SmbFile smbFile) {
+        try {
+            smbFile.delete();
+        } catch (Exception e) {
+            logger.warn("Could not remove " + smbFile.getPath() + ": " + e.getMessage());
+        }
+    }
+
+    private static String getSMBUrl(SMBConfig smbConfig, String path) {
+        return "smb://" + smbConfig.getSERVER_ADDRESS() + "/" + smbConfig.getSHARE_NAME() + "/" + path.replace('\\', '/');
+    }
+
+    /**
+     * Records the latency of each phase in microseconds, small files are often faster than a millisecond per phase.
+     */
+    private static final class PhaseRecorder {
+        private final Map<String, Queue<Long>> latencies = new ConcurrentHashMap<>();
+
+        private void record(String phase, long startNanos) {
+            long micros = (System.nanoTime() - startNanos) / 1000L;
+            latencies.computeIfAbsent(phase, k -> new ConcurrentLinkedQueue<>()).add(micros);
+        }
+    }
+
+    private interface Ingester extends AutoCloseable {
+        /**
+         * Ingests one file and records the latency of its phases.
+         * @return The pickup path of the file, or null if it was not renamed.
+         */
+        String ingest(String fileName, byte[] payload, PhaseRecorder recorder) throws Exception;
+
+        @Override
+        void close();
+    }
+
+    private interface IngesterFactory {
+        Ingester create() throws Exception;
+    }
+
+    private static final class SmbjIngester implements Ingester {
+        private final SMBShareConnection connection;
+        private final String workDir;
+        private final Set<SMB2CreateOptions> createOptions;
+
+        private SmbjIngester(SMBShareConnection connection, String workDir) {
+            this.connection = connection;
+            this.workDir = workDir;
+            this.createOptions = WRITE_THROUGH
+                    ? EnumSet.of(SMB2CreateOptions.FILE_NON_DIRECTORY_FILE, SMB2CreateOptions.FILE_WRITE_THROUGH)
+                    : EnumSet.of(SMB2CreateOptions.FILE_NON_DIRECTORY_FILE);
+        }
+
+        @Override
+        public String ingest(String fileName, byte[] payload, PhaseRecorder recorder) {
+            DiskShare share = connection.getShare();
+            String workPath = SMBPathUtils.childPath(workDir, fileName);
+            long startTime = System.nanoTime();
+            File file = share.openFile(workPath,
+                    EnumSet.of(AccessMask.GENERIC_WRITE),
+                    EnumSet.of(FileAttributes.FILE_ATTRIBUTE_NORMAL),
+                    SMB2ShareAccess.ALL,
+                    SMB2CreateDisposition.FILE_CREATE,
+                    createOptions);
+            recorder.record(PHASE_CREATE, startTime);
+            try {
+                startTime = System.nanoTime();
+                file.write(payload, 0);
+                recorder.record(PHASE_WRITE, startTime);
+                if (FLUSH) {
+                    startTime = System.nanoTime();
+                    file.flush();
+                    recorder.record(PHASE_FLUSH, startTime);
+                }
+            } finally {
+                startTime = System.nanoTime();
+                file.close();
+                recorder.record(PHASE_CLOSE, startTime);
+            }
+
+            if (PICKUP_DIR == null) {
+                return null;
+            }
+            String pickupPath = SMBPathUtils.childPath(PICKUP_DIR, fileName);
+            startTime = System.nanoTime();
+            try (File workFile = share.openFile(workPath,
+                    EnumSet.of(AccessMask.DELETE, AccessMask.FILE_READ_ATTRIBUTES),
+                    null,
+                    SMB2ShareAccess.ALL,
+                    SMB2CreateDisposition.FILE_OPEN,
+                    EnumSet.of(SMB2CreateOptions.FILE_NON_DIRECTORY_FILE))) {
+                workFile.rename(pickupPath);
+            }
+            recorder.record(PHASE_RENAME, startTime);
+            return pickupPath;
+        }
+
+        @Override
+        public void close() {
+            connection.close();
+        }
+    }
+
+    private static final class JcifsIngester implements Ingester {
+        private final SMBConfig smbConfig;
+        private final NtlmPasswordAuthentication auth;
+        private final String workDir;
+
+        private JcifsIngester(SMBConfig smbConfig, NtlmPasswordAuthentication auth, String workDir) {
+            this.smbConfig = smbConfig;
+            this.auth = auth;
+            this.workDir = workDir;
+        }
+
+        @Override
+        public String ingest(String fileName, byte[] payload, PhaseRecorder recorder) throws Exception {
+            SmbFile workFile = new SmbFile(getSMBUrl(smbConfig, SMBPathUtils.childPath(workDir, fileName)), auth);
+            long startTime = System.nanoTime();
+            SmbFileOutputStream out = new SmbFileOutputStream(workFile);
+            recorder.record(PHASE_CREATE, startTime);
+            try {
+                startTime = System.nanoTime();
+                out.write(payload);
+                recorder.record(PHASE_WRITE, startTime);
+                // SmbFileOutputStream does not override flush(), nothing would reach the server, so no Flush phase
+            } finally {
+                startTime = System.nanoTime();
+                out.close();
+                recorder.record(PHASE_CLOSE, startTime);
+            }
+
+            if (PICKUP_DIR == null) {
+                return null;
+            }
+            String pickupPath = SMBPathUtils.childPath(PICKUP_DIR, fileName);
+            startTime = System.nanoTime();
+            workFile.renameTo(new SmbFile(getSMBUrl(smbConfig, pickupPath), auth));
+            recorder.record(PHASE_RENAME, startTime);
+            return pickupPath;
+        }
+
+        @Override
+        public void close() {
+            // jcifs pools its own transports, nothing to release per worker
+        }
+    }
+}
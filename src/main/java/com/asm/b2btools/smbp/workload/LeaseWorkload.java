@@ -0,0 +1,363 @@
+package com.asm.b2btools.smbp.workload;
+
+import com.asm.b2btools.smbp.exception.SMBPException;
+import com.asm.b2btools.smbp.model.LeaseStats;
+import com.asm.b2btools.smbp.model.SMBConfig;
+import com.asm.b2btools.smbp.utils.RoundTripCounter;
+import com.asm.b2btools.smbp.utils.SMBPathUtils;
+import com.asm.b2btools.smbp.utils.SMBShareConnection;
+import com.asm.b2btools.smbp.utils.StatsUtils;
+import com.hierynomus.msdtyp.AccessMask;
+import com.hierynomus.msfscc.FileAttributes;
+import com.hierynomus.msfscc.fileinformation.FileAllInformation;
+import com.hierynomus.mssmb2.SMB2CreateDisposition;
+import com.hierynomus.mssmb2.SMB2ShareAccess;
+import com.hierynomus.smbj.share.DiskShare;
+import com.hierynomus.smbj.share.File;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * The LeaseWorkload class measures what client-side caching would save for readers that read the same files again.
+ * A small set of files is created in a work directory under smb.dir_name and read round-robin, with a fresh session
+ * per open, on a session that stays open, through handles that stay open, and through a revalidating cache that only
+ * fetches a file again when its size, last write time or change time moved. Every smbp.lease.break_every reads a
+ * second client rewrites the next file in turn, the way a writer breaks the lease of a caching reader. Every read is
+ * compared with what the second client last wrote, so a cache that misses a change reports stale reads.
+ * smbj 0.13 cannot request oplocks or leases on create, so the cache revalidates with one attribute query per read
+ * where a lease holder would serve the read locally; the query is the cost a lease would remove.
+ * @since 19-10-2026
+ */
+public class LeaseWorkload {
+
+    private static final Logger logger = LoggerFactory.getLogger(LeaseWorkload.class);
+
+    private static final int FILES = Integer.getInteger("smbp.lease.files", 4);
+    private static final int FILE_SIZE = Integer.getInteger("smbp.lease.file_size", 65536);
+    private static final int READS = Integer.getInteger("smbp.lease.reads", 200);
+    private static final int BREAK_EVERY = Integer.getInteger("smbp.lease.break_every", 20);
+    private static final String MODES = System.getProperty("smbp.lease.modes", "fresh,session,handle,cache");
+    private static final boolean CLEANUP = Boolean.parseBoolean(System.getProperty("smbp.lease.cleanup", "true"));
+
+    private static final String WORK_DIR_NAME = "smbp_lease";
+    private static final String FILE_PREFIX = "smbp_lease_";
+
+    /**
+     * Runs the repeated reads for every mode in smbp.lease.modes.
+     * @param smbConfig The SMB configuration.
+     * @return A LeaseStats object per mode.
+     * @throws SMBPException Thrown if an unexpected SMB exception occurs.
+     */
+    public static List<LeaseStats> run(SMBConfig smbConfig) throws SMBPException {
+        logger.debug("ENTRY -> LeaseWorkload.run()");
+        String rootPath = SMBPathUtils.rootPath(smbConfig);
+        String workDir = SMBPathUtils.childPath(rootPath, WORK_DIR_NAME);
+        List<LeaseStats> leaseStats = new ArrayList<>();
+        // The second client, which creates the files and rewrites them to break the readers' view of them
+        try (SMBShareConnection writer = SMBShareConnection.open(smbConfig)) {
+            DiskShare writerShare = writer.getShare();
+            if (!writerShare.folderExists(workDir)) {
+                writerShare.mkdir(workDir);
+            }
+            List<String> paths = new ArrayList<>();
+            for (int i = 0; i < FILES; i++) {
+                paths.add(SMBPathUtils.childPath(workDir, FILE_PREFIX + i + ".bin"));
+            }
+            try {
+                for (String mode : MODES.split(",")) {
+                    mode = mode.trim();
+                    Map<String, byte[]> written = new HashMap<>();
+                    for (String path : paths) {
+                        written.put(path, writeFile(writerShare, path));
+                    }
+                    RoundTripCounter counter = new RoundTripCounter();
+                    if (mode.equalsIgnoreCase("fresh")) {
+                        leaseStats.add(runReads("Fresh session per open", new FreshSessionReader(smbConfig, counter), counter, writerShare, paths, written));
+                    } else if (mode.equalsIgnoreCase("session")) {
+                        leaseStats.add(runReads("Persistent session", new SessionReader(SMBShareConnection.open(smbConfig, counter.newClient())), counter, writerShare, paths, written));
+                    } else if (mode.equalsIgnoreCase("handle")) {
+                        leaseStats.add(runReads("Persistent handle", new HandleReader(SMBShareConnection.open(smbConfig, counter.newClient())), counter, writerShare, paths, written));
+                    } else if (mode.equalsIgnoreCase("cache")) {
+                        leaseStats.add(runReads("Revalidating cache", new CachingReader(SMBShareConnection.open(smbConfig, counter.newClient())), counter, writerShare, paths, written));
+                    } else {
+                        logger.warn("Unknown lease mode " + mode + ", skipping");
+                    }
+                }
+            } finally {
+                if (CLEANUP) {
+                    SMBPathUtils.removeDirectory(writerShare, workDir);
+                }
+            }
+        } catch (Exception e) {
+            logger.error(e.getMessage(), e);
+            throw new SMBPException(e);
+        }
+        logger.debug("EXIT -> LeaseWorkload.run()");
+        return leaseStats;
+    }
+
+    /**
+     * Reads the files round-robin. The first read of every file is a cold read and is left out of the latencies;
+     * the first read of a file after the second client rewrote it is counted as a break read, every other read as a
+     * re-read. The breaks go to the files in turn, so every file is rewritten whatever the number of files.
+     */
+    private static LeaseStats runReads(String mode, Reader reader, RoundTripCounter counter, DiskShare writerShare,
+                                       List<String> paths, Map<String, byte[]> written) throws IOException {
+        logger.debug("Running lease mode " + mode);
+        Set<String> warm = new HashSet<>();
+        Set<String> broken = new HashSet<>();
+        List<Long> rereadLatencies = new ArrayList<>();
+        List<Long> breakLatencies = new ArrayList<>();
+        long bytesFetched = 0L;
+        long breaks = 0L;
+        long staleReads = 0L;
+        long requests;
+        long startTime = System.currentTimeMillis();
+        try {
+            counter.reset();
+            for (int i = 0; i < READS; i++) {
+                if (BREAK_EVERY > 0 && i > 0 && i % BREAK_EVERY == 0) {
+                    String target = paths.get((int) (breaks % paths.size()));
+                    if (warm.contains(target)) {
+                        written.put(target, writeFile(writerShare, target));
+                        broken.add(target);
+                        breaks++;
+                    }
+                }
+                String path = paths.get(i % paths.size());
+                long readStart = System.nanoTime();
+                ReadResult result = reader.read(path);
+                long latency = (System.nanoTime() - readStart) / 1000L;
+                bytesFetched += result.fetched;
+                if (!Arrays.equals(result.content, written.get(path))) {
+                    staleReads++;
+                }
+                if (broken.remove(path)) {
+                    breakLatencies.add(latency);
+                } else if (!warm.add(path)) {
+                    rereadLatencies.add(latency);
+                }
+            }
+            requests = counter.getRequests();
+        } finally {
+            reader.close();
+        }
+        if (staleReads > 0) {
+            logger.warn(mode + " returned " + staleReads + " reads that did not match the last write");
+        }
+
+        LeaseStats stats = new LeaseStats(mode);
+        stats.setReads(READS);
+        stats.setBytes_fetched(bytesFetched);
+        stats.setRequests(requests);
+        stats.setBreaks(breaks);
+        stats.setStale_reads(staleReads);
+        stats.setAvg_reread_latency(StatsUtils.average(rereadLatencies));
+        stats.setP99_reread_latency(StatsUtils.percentile(rereadLatencies, 99));
+        stats.setAvg_break_latency(StatsUtils.average(breakLatencies));
+        stats.setP99_break_latency(StatsUtils.percentile(breakLatencies, 99));
+        stats.setTime_taken(System.currentTimeMillis() - startTime);
+        logger.debug("Lease mode completed: " + stats);
+        return stats;
+    }
+
+    /**
+     * Writes FILE_SIZE random bytes to the file from the second client and returns them.
+     */
+    private static byte[] writeFile(DiskShare share, String path) {
+        byte[] payload = new byte[FILE_SIZE];
+        new Random().nextBytes(payload);
+        try (File file = share.openFile(path,
+                EnumSet.of(AccessMask.GENERIC_WRITE),
+                EnumSet.of(FileAttributes.FILE_ATTRIBUTE_NORMAL),
+                SMB2ShareAccess.ALL,
+                SMB2CreateDisposition.FILE_OPEN_IF,
+                null)) {
+            file.write(payload, 0L);
+        }
+        return payload;
+    }
+
+    private static File openForRead(DiskShare share, String path) {
+        return share.openFile(path,
+                EnumSet.of(AccessMask.GENERIC_READ),
+                null,
+                SMB2ShareAccess.ALL,
+                SMB2CreateDisposition.FILE_OPEN,
+                null);
+    }
+
+    /**
+     * Reads a file from offset 0 until the end, or until FILE_SIZE bytes, and returns everything fetched from the server.
+     */
+    private static ReadResult readFully(File file) {
+        byte[] buffer = new byte[FILE_SIZE];
+        int offset = 0;
+        int read;
+        while (offset < buffer.length && (read = file.read(buffer, offset, offset, buffer.length - offset)) > 0) {
+            offset += read;
+        }
+        return new ReadResult(Arrays.copyOf(buffer, offset), offset);
+    }
+
+    /**
+     * The content a read returned and the number of bytes fetched from the server for it, 0 when served from a cache.
+     */
+    private static final class ReadResult {
+        private final byte[] content;
+        private final long fetched;
+
+        private ReadResult(byte[] content, long fetched) {
+            this.content = content;
+            this.fetched = fetched;
+        }
+    }
+
+    /**
+     * Reads a file the way a mode does.
+     */
+    private interface Reader extends Closeable {
+        ReadResult read(String path) throws IOException;
+    }
+
+    /**
+     * Connects, authenticates and connects to the share for every read, like the SMBUtils operations do.
+     */
+    private static final class FreshSessionReader implements Reader {
+        private final SMBConfig smbConfig;
+        private final RoundTripCounter counter;
+
+        private FreshSessionReader(SMBConfig smbConfig, RoundTripCounter counter) {
+            this.smbConfig = smbConfig;
+            this.counter = counter;
+        }
+
+        @Override
+        public ReadResult read(String path) throws IOException {
+            try (SMBShareConnection connection = SMBShareConnection.open(smbConfig, counter.newClient());
+                 File file = openForRead(connection.getShare(), path)) {
+                return readFully(file);
+            }
+        }
+
+        @Override
+        public void close() {
+
+        }
+    }
+
+    /**
+     * Opens, reads and closes the file for every read on a session that stays open.
+     */
+    private static class SessionReader implements Reader {
+        protected final SMBShareConnection connection;
+
+        private SessionReader(SMBShareConnection connection) {
+            this.connection = connection;
+        }
+
+        @Override
+        public ReadResult read(String path) throws IOException {
+            try (File file = openForRead(connection.getShare(), path)) {
+                return readFully(file);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            connection.close();
+        }
+    }
+
+    /**
+     * Keeps one handle per file open and reads it again from offset 0, so only READ requests reach the server.
+     */
+    private static final class HandleReader extends SessionReader {
+        private final Map<String, File> handles = new HashMap<>();
+
+        private HandleReader(SMBShareConnection connection) {
+            super(connection);
+        }
+
+        @Override
+        public ReadResult read(String path) {
+            File file = handles.get(path);
+            if (file == null) {
+                file = openForRead(connection.getShare(), path);
+                handles.put(path, file);
+            }
+            return readFully(file);
+        }
+
+        @Override
+        public void close() throws IOException {
+            for (File file : handles.values()) {
+                file.close();
+            }
+            super.close();
+        }
+    }
+
+    /**
+     * Remembers the content and attributes of every file it fetched and serves the content from memory when an
+     * attribute query shows the file did not change.
+     */
+    private static final class CachingReader extends SessionReader {
+        private final Map<String, CachedFile> cache = new HashMap<>();
+
+        private CachingReader(SMBShareConnection connection) {
+            super(connection);
+        }
+
+        @Override
+        public ReadResult read(String path) {
+            try (File file = openForRead(connection.getShare(), path)) {
+                FileAllInformation info = file.getFileInformation();
+                CachedFile cached = cache.get(path);
+                if (cached != null && cached.isCurrent(info)) {
+                    return new ReadResult(cached.content, 0L);
+                }
+                ReadResult result = readFully(file);
+                cache.put(path, new CachedFile(info, result.content));
+                return result;
+            }
+        }
+    }
+
+    /**
+     * The content of a cached file and the attributes it was fetched with. A second client's write moves the last
+     * write or change time.
+     */
+    private static final class CachedFile {
+        private final byte[] content;
+        private final long size;
+        private final long lastWriteTime;
+        private final long changeTime;
+
+        private CachedFile(FileAllInformation info, byte[] content) {
+            this.content = content;
+            this.size = info.getStandardInformation().getEndOfFile();
+            this.lastWriteTime = info.getBasicInformation().getLastWriteTime().getWindowsTimeStamp();
+            this.changeTime = info.getBasicInformation().getChangeTime().getWindowsTimeStamp();
+        }
+
+        private boolean isCurrent(FileAllInformation info) {
+            return size == info.getStandardInformation().getEndOfFile()
+                    && lastWriteTime == info.getBasicInformation().getLastWriteTime().getWindowsTimeStamp()
+                    && changeTime == info.getBasicInformation().getChangeTime().getWindowsTimeStamp();
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package com.asm.b2btools.smbp.workload;
+
+import com.asm.b2btools.smbp.exception.SMBPException;
+import com.asm.b2btools.smbp.model.MetadataStats;
+import com.asm.b2btools.smbp.model.SMBConfig;
+import com.asm.b2btools.smbp.model.SMBStats;
+import com.asm.b2btools.smbp.utils.RoundTripCounter;
+import com.asm.b2btools.smbp.utils.SMBPathUtils;
+import com.asm.b2btools.smbp.utils.SMBShareConnection;
+import com.asm.b2btools.smbp.utils.SMBUtils;
+import com.asm.b2btools.smbp.utils.StatsUtils;
+import com.hierynomus.msfscc.fileinformation.FileIdBothDirectoryInformation;
+import com.hierynomus.smbj.share.DiskShare;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The MetadataWorkload class compares the current per-call metadata checks with the single-open metadata path.
+ * A pass resolves what one profileSMBOperations pass reports: existence and length of smb.file_name and whether
+ * smb.dir_name is a directory. It is run through SMBUtils with a fresh connection per call, through the same calls
+ * on a persistent session, and through SMBUtils.getMetadata. The batch modes resolve up to smbp.metadata.batch_size
+ * entries of smb.dir_name one path at a time with the per-call checks, and with the bounded parallel batch API.
+ * Every mode counts the requests sent to the server with a RoundTripCounter; latency is reported in microseconds,
+ * per pass for the pass modes and per path for the batch modes.
+ * @since 19-10-2026
+ */
+public class MetadataWorkload {
+
+    private static final Logger logger = LoggerFactory.getLogger(MetadataWorkload.class);
+
+    private static final int ITERATIONS = Integer.getInteger("smbp.metadata.iterations", 10);
+    private static final int BATCH_SIZE = Integer.getInteger("smbp.metadata.batch_size", 100);
+    private static final int PARALLELISM = Integer.getInteger("smbp.metadata.parallelism", 8);
+
+    /**
+     * Runs every metadata mode for smbp.metadata.iterations passes.
+     * @param smbConfig The SMB configuration.
+     * @return A MetadataStats object per mode.
+     * @throws SMBPException Thrown if an unexpected SMB exception occurs.
+     */
+    public static List<MetadataStats> run(SMBConfig smbConfig) throws SMBPException {
+        logger.debug("ENTRY -> MetadataWorkload.run()");
+        List<MetadataStats> metadataStats = new ArrayList<>();
+        try {
+            metadataStats.add(runPerCall(smbConfig));
+            metadataStats.add(runPerCallPersistent(smbConfig));
+            metadataStats.add(runSingleOpen(smbConfig));
+
+            List<String> paths = listBatch(smbConfig);
+            if (paths.isEmpty()) {
+                logger.warn("No entries found in " + smbConfig.getDIR_NAME() + ", skipping the batch modes");
+            } else {
+                metadataStats.add(runBatchSequential(smbConfig, paths));
+                metadataStats.add(runBatchParallel(smbConfig, paths));
+            }
+        } catch (SMBPException e) {
+            throw e;
+        } catch (Exception e) {
+            logger.error(e.getMessage(), e);
+            throw new SMBPException(e);
+        }
+        logger.debug("EXIT -> MetadataWorkload.run()");
+        return metadataStats;
+    }
+
+    /**
+     * The current path: exists, isDirectory and length each connect, authenticate and connect to the share.
+     */
+    private static MetadataStats runPerCall(SMBConfig smbConfig) throws SMBPException {
+        RoundTripCounter counter = new RoundTripCounter();
+        List<Long> latencies = new ArrayList<>();
+        long startTime = System.currentTimeMillis();
+        for (int i = 0; i < ITERATIONS; i++) {
+            long passStart = System.nanoTime();
+            SMBStats smbStats = new SMBStats();
+            SMBUtils.exists(smbConfig, smbStats, counter.newClient());
+            SMBUtils.isDirectory(smbConfig, smbStats, counter.newClient());
+            SMBUtils.length(smbConfig, smbStats, counter.newClient());
+            latencies.add((System.nanoTime() - passStart) / 1000L);
+        }
+        return toStats("Per-call (fresh connection)", latencies, counter.getRequests(), System.currentTimeMillis() - startTime);
+    }
+
+    /**
+     * The same checks as SMBUtils on a session that stays open, so only the metadata requests are counted:
+     * exists as folderExists || fileExists of smb.file_name, isDirectory of smb.dir_name and length of smb.file_name.
+     */
+    private static MetadataStats runPerCallPersistent(SMBConfig smbConfig) throws Exception {
+        RoundTripCounter counter = new RoundTripCounter();
+        try (SMBShareConnection connection = SMBShareConnection.open(smbConfig, counter.newClient())) {
+            DiskShare share = connection.getShare();
+            counter.reset();
+            List<Long> latencies = new ArrayList<>();
+            long startTime = System.currentTimeMillis();
+            for (int i = 0; i < ITERATIONS; i++) {
+                long passStart = System.nanoTime();
+                // exists is folderExists || fileExists, fileExists only runs when the folder check fails
+                if (!share.folderExists(smbConfig.getFILE_NAME())) {
+                    share.fileExists(smbConfig.getFILE_NAME());
+                }
+                share.folderExists(smbConfig.getDIR_NAME());
+                share.getFileInformation(smbConfig.getFILE_NAME()).getStandardInformation().getEndOfFile();
+                latencies.add((System.nanoTime() - passStart) / 1000L);
+            }
+            return toStats("Per-call (persistent session)", latencies, counter.getRequests(), System.currentTimeMillis() - startTime);
+        }
+    }
+
+    /**
+     * The optimised path: one open per path through SMBUtils.getMetadata on a persistent session.
+     */
+    private static MetadataStats runSingleOpen(SMBConfig smbConfig) throws Exception {
+        RoundTripCounter counter = new RoundTripCounter();
+        try (SMBShareConnection connection = SMBShareConnection.open(smbConfig, counter.newClient())) {
+            DiskShare share = connection.getShare();
+            counter.reset();
+            List<Long> latencies = new ArrayList<>();
+            long startTime = System.currentTimeMillis();
+            for (int i = 0; i < ITERATIONS; i++) {
+                long passStart = System.nanoTime();
+                SMBUtils.getMetadata(share, smbConfig.getFILE_NAME());
+                SMBUtils.getMetadata(share, smbConfig.getDIR_NAME());
+                latencies.add((System.nanoTime() - passStart) / 1000L);
+            }
+            return toStats("Single-open (persistent session)", latencies, counter.getRequests(), System.currentTimeMillis() - startTime);
+        }
+    }
+
+    private static MetadataStats runBatchSequential(SMBConfig smbConfig, List<String> paths) throws Exception {
+        RoundTripCounter counter = new RoundTripCounter();
+        try (SMBShareConnection connection = SMBShareConnection.open(smbConfig, counter.newClient())) {
+            DiskShare share = connection.getShare();
+            counter.reset();
+            List<Long> latencies = new ArrayList<>();
+            long startTime = System.currentTimeMillis();
+            for (int i = 0; i < ITERATIONS; i++) {
+                long batchStart = System.nanoTime();
+                for (String path : paths) {
+                    resolvePerCall(share, path);
+                }
+                latencies.add((System.nanoTime() - batchStart) / 1000L / paths.size());
+            }
+            return toStats("Batch per-call (sequential)", latencies, counter.getRequests(), System.currentTimeMillis() - startTime, paths.size());
+        }
+    }
+
+    private static MetadataStats runBatchParallel(SMBConfig smbConfig, List<String> paths) throws Exception {
+        RoundTripCounter counter = new RoundTripCounter();
+        try (SMBShareConnection connection = SMBShareConnection.open(smbConfig, counter.newClient())) {
+            DiskShare share = connection.getShare();
+            counter.reset();
+            List<Long> latencies = new ArrayList<>();
+            long startTime = System.currentTimeMillis();
+            for (int i = 0; i < ITERATIONS; i++) {
+                long batchStart = System.nanoTime();
+                SMBUtils.getMetadata(share, paths, PARALLELISM);
+                latencies.add((System.nanoTime() - batchStart) / 1000L / paths.size());
+            }
+            return toStats("Batch single-open (parallelism " + PARALLELISM + ")", latencies, counter.getRequests(), System.currentTimeMillis() - startTime, paths.size());
+        }
+    }
+
+    /**
+     * Resolves existence, type and length of a path the way SMBUtils does, with a separate open for every check.
+     */
+    private static void resolvePerCall(DiskShare share, String path) {
+        boolean directory = share.folderExists(path);
+        if (directory || share.fileExists(path)) {
+            share.folderExists(path);
+            if (!directory) {
+                share.getFileInformation(path).getStandardInformation().getEndOfFile();
+            }
+        }
+    }
+
+    /**
+     * Lists up to smbp.metadata.batch_size entries of smb.dir_name as the paths for the batch modes.
+     */
+    private static List<String> listBatch(SMBConfig smbConfig) throws Exception {
+        String rootPath = SMBPathUtils.rootPath(smbConfig);
+        List<String> paths = new ArrayList<>();
+        try (SMBShareConnection connection = SMBShareConnection.open(smbConfig)) {
+            for (FileIdBothDirectoryInformation entry : connection.getShare().list(rootPath)) {
+                if (paths.size() >= BATCH_SIZE) {
+                    break;
+                }
+                if (!entry.getFileName().equals(".") && !entry.getFileName().equals("..")) {
+                    paths.add(SMBPathUtils.childPath(rootPath, entry.getFileName()));
+                }
+            }
+        }
+        return paths;
+    }
+
+    private static MetadataStats toStats(String mode, List<Long> latencies, long requests, long timeTaken) {
+        return toStats(mode, latencies, requests, timeTaken, 1);
+    }
+
+    private static MetadataStats toStats(String mode, List<Long> latencies, long requests, long timeTaken, int callsPerIteration) {
+        MetadataStats stats = new MetadataStats(mode);
+        stats.setCalls((long) latencies.size() * callsPerIteration);
+        stats.setRequests(requests);
+        stats.setAvg_latency(StatsUtils.average(latencies));
+        stats.setP99_latency(StatsUtils.percentile(latencies, 99));
+        stats.setTime_taken(timeTaken);
+        logger.debug("Metadata mode completed: " + stats);
+        return stats;
+    }
+}
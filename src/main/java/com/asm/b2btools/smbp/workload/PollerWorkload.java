@@ -0,0 +1,352 @@
+package com.asm.b2btools.smbp.workload;
+
+import com.asm.b2btools.smbp.exception.SMBPException;
+import com.asm.b2btools.smbp.model.PollCycleStats;
+import com.asm.b2btools.smbp.model.SMBConfig;
+import com.asm.b2btools.smbp.utils.SMBPathUtils;
+import com.asm.b2btools.smbp.utils.SMBShareConnection;
+import com.hierynomus.msdtyp.AccessMask;
+import com.hierynomus.msfscc.FileAttributes;
+import com.hierynomus.msfscc.fileinformation.FileIdBothDirectoryInformation;
+import com.hierynomus.mssmb2.SMB2CreateDisposition;
+import com.hierynomus.mssmb2.SMB2CreateOptions;
+import com.hierynomus.mssmb2.SMB2ShareAccess;
+import com.hierynomus.mssmb2.SMBApiException;
+import com.hierynomus.smbj.share.DiskShare;
+import com.hierynomus.smbj.share.File;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The PollerWorkload class simulates an MFT poller: it repeatedly walks the directory tree under smb.dir_name,
+ * keeps an in-memory snapshot index of path -> size/last write time, and diffs consecutive snapshots to find
+ * new, changed and deleted files. The walk forks one task per subdirectory on a ForkJoinPool and borrows
+ * connections from a bounded pool, so at most smbp.poller.connections listings are in flight at any time.
+ * A companion dropper thread keeps creating files under the tree so that the detection latency of new files
+ * can be measured as the tree grows.
+ * @since 19-10-2026
+ */
+public class PollerWorkload {
+
+    private static final Logger logger = LoggerFactory.getLogger(PollerWorkload.class);
+
+    private static final int CYCLES = Integer.getInteger("smbp.poller.cycles", 10);
+    private static final int CONNECTIONS = Integer.getInteger("smbp.poller.connections", 4);
+    private static final long POLL_INTERVAL = Long.getLong("smbp.poller.interval_ms", 1000L);
+    private static final long DROP_INTERVAL = Long.getLong("smbp.poller.drop_interval_ms", 100L);
+    private static final int DROPS_PER_DIR = Integer.getInteger("smbp.poller.drops_per_dir", 100);
+    private static final boolean CLEANUP = Boolean.parseBoolean(System.getProperty("smbp.poller.cleanup", "true"));
+
+    private static final String DROP_DIR_NAME = "smbp_poller_drops";
+    private static final byte[] DROP_CONTENT = "SMBProfiler poller drop\n".getBytes(StandardCharsets.UTF_8);
+
+    /**
+     * Runs the configured number of poll cycles against smb.dir_name while the dropper keeps adding files.
+     * @param smbConfig The SMB configuration.
+     * @return A PollCycleStats object per poll cycle.
+     * @throws SMBPException Thrown if an unexpected SMB exception occurs.
+     */
+    public static List<PollCycleStats> run(SMBConfig smbConfig) throws SMBPException {
+        logger.debug("ENTRY -> PollerWorkload.run()");
+        if (CONNECTIONS <= 0) {
+            throw new SMBPException("smbp.poller.connections must be greater than 0, got " + CONNECTIONS);
+        }
+        if (DROPS_PER_DIR <= 0) {
+            throw new SMBPException("smbp.poller.drops_per_dir must be greater than 0, got " + DROPS_PER_DIR);
+        }
+        String rootPath = SMBPathUtils.rootPath(smbConfig);
+        String dropRoot = SMBPathUtils.childPath(rootPath, DROP_DIR_NAME);
+        List<PollCycleStats> cycleStats = new ArrayList<>();
+        BlockingQueue<SMBShareConnection> connectionPool = new ArrayBlockingQueue<>(CONNECTIONS);
+        ForkJoinPool walkPool = new ForkJoinPool(CONNECTIONS);
+        Dropper dropper = null;
+        try {
+            for (int i = 0; i < CONNECTIONS; i++) {
+                connectionPool.add(SMBShareConnection.open(smbConfig));
+            }
+            dropper = new Dropper(SMBShareConnection.open(smbConfig), dropRoot);
+            // Drops left over by a run with smbp.poller.cleanup=false would collide with the new ones
+            dropper.prepare();
+
+            Map<String, FileSnapshot> index = new HashMap<>();
+            for (int cycle = 1; cycle <= CYCLES; cycle++) {
+                WalkContext context = new WalkContext(connectionPool, dropper.pendingDrops);
+                long startTime = System.currentTimeMillis();
+                walkPool.invoke(new DirectoryWalkTask(rootPath, context));
+                long cycleTime = System.currentTimeMillis() - startTime;
+
+                PollCycleStats stats = diff(cycle, index, context.snapshot);
+                stats.setDirs_count(context.dirs.get());
+                stats.setCycle_time_taken(cycleTime);
+                stats.setFiles_per_sec(cycleTime == 0 ? 0 : stats.getFiles_count() * 1000.0 / cycleTime);
+                stats.setDetected_drops(context.detectionLatencies.size());
+                if (!context.detectionLatencies.isEmpty()) {
+                    long total = 0L;
+                    long max = 0L;
+                    for (long latency : context.detectionLatencies) {
+                        total += latency;
+                        max = Math.max(max, latency);
+                    }
+                    stats.setAvg_detection_latency(total / context.detectionLatencies.size());
+                    stats.setMax_detection_latency(max);
+                }
+                logger.debug("Poll cycle completed: " + stats);
+                cycleStats.add(stats);
+                index = context.snapshot;
+
+                // The dropper only starts after the baseline walk, so every drop is a genuinely new file
+                if (cycle == 1) {
+                    dropper.start();
+                }
+                Thread.sleep(POLL_INTERVAL);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SMBPException("Poller workload interrupted", e);
+        } catch (Exception e) {
+            logger.error(e.getMessage(), e);
+            throw new SMBPException(e);
+        } finally {
+            walkPool.shutdownNow();
+            if (dropper != null) {
+                dropper.stop();
+                if (CLEANUP) {
+                    dropper.cleanup();
+                }
+                dropper.connection.close();
+            }
+            for (SMBShareConnection connection : connectionPool) {
+                connection.close();
+            }
+        }
+        logger.debug("EXIT -> PollerWorkload.run()");
+        return cycleStats;
+    }
+
+    /**
+     * Compares the snapshot of the current cycle against the index built by the previous cycle.
+     * @param cycle The cycle number.
+     * @param previous The index from the previous cycle.
+     * @param current The snapshot from the current cycle.
+     * @return A PollCycleStats object with the file and change counts filled in.
+     */
+    private static PollCycleStats diff(int cycle, Map<String, FileSnapshot> previous, Map<String, FileSnapshot> current) {
+        PollCycleStats stats = new PollCycleStats(cycle);
+        long newFiles = 0L;
+        long changedFiles = 0L;
+        for (Map.Entry<String, FileSnapshot> entry : current.entrySet()) {
+            FileSnapshot before = previous.get(entry.getKey());
+            if (before == null) {
+                newFiles++;
+            } else if (!before.equals(entry.getValue())) {
+                changedFiles++;
+            }
+        }
+        long deletedFiles = 0L;
+        for (String path : previous.keySet()) {
+            if (!current.containsKey(path)) {
+                deletedFiles++;
+            }
+        }
+        stats.setFiles_count(current.size());
+        stats.setNew_files(newFiles);
+        stats.setChanged_files(changedFiles);
+        stats.setDeleted_files(deletedFiles);
+        return stats;
+    }
+
+    /**
+     * Size and last write time of a file as seen by one poll cycle.
+     */
+    private static final class FileSnapshot {
+        private final long size;
+        private final long lastWriteTime;
+
+        private FileSnapshot(long size, long lastWriteTime) {
+            this.size = size;
+            this.lastWriteTime = lastWriteTime;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof FileSnapshot)) {
+                return false;
+            }
+            FileSnapshot that = (FileSnapshot) o;
+            return size == that.size && lastWriteTime == that.lastWriteTime;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * Long.hashCode(size) + Long.hashCode(lastWriteTime);
+        }
+    }
+
+    /**
+     * State shared by all walk tasks of a single poll cycle.
+     */
+    private static final class WalkContext {
+        private final BlockingQueue<SMBShareConnection> connectionPool;
+        private final Map<String, Long> pendingDrops;
+        private final Map<String, FileSnapshot> snapshot = new ConcurrentHashMap<>();
+        private final List<Long> detectionLatencies = Collections.synchronizedList(new ArrayList<>());
+        private final AtomicLong dirs = new AtomicLong();
+
+        private WalkContext(BlockingQueue<SMBShareConnection> connectionPool, Map<String, Long> pendingDrops) {
+            this.connectionPool = connectionPool;
+            this.pendingDrops = pendingDrops;
+        }
+    }
+
+    /**
+     * Lists a single directory, records its files in the snapshot and forks a task per subdirectory.
+     * A connection is only held for the duration of the listing, never while waiting on subtasks.
+     */
+    private static final class DirectoryWalkTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final String path;
+        private final WalkContext context;
+
+        private DirectoryWalkTask(String path, WalkContext context) {
+            this.path = path;
+            this.context = context;
+        }
+
+        @Override
+        protected void compute() {
+            List<FileIdBothDirectoryInformation> entries;
+            SMBShareConnection connection;
+            try {
+                connection = context.connectionPool.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for a connection", e);
+            }
+            try {
+                entries = connection.getShare().list(path);
+            } catch (SMBApiException e) {
+                // The directory can disappear between the parent listing and ours, the next cycle will catch up
+                logger.warn("Skipping " + path + ": " + e.getStatus());
+                return;
+            } finally {
+                context.connectionPool.add(connection);
+            }
+            long listedAt = System.currentTimeMillis();
+            context.dirs.incrementAndGet();
+
+            List<DirectoryWalkTask> subTasks = new ArrayList<>();
+            for (FileIdBothDirectoryInformation entry : entries) {
+                String name = entry.getFileName();
+                if (".".equals(name) || "..".equals(name)) {
+                    continue;
+                }
+                String entryPath = SMBPathUtils.childPath(path, name);
+                if ((entry.getFileAttributes() & FileAttributes.FILE_ATTRIBUTE_DIRECTORY.getValue()) != 0) {
+                    subTasks.add(new DirectoryWalkTask(entryPath, context));
+                } else {
+                    context.snapshot.put(entryPath, new FileSnapshot(entry.getEndOfFile(), entry.getLastWriteTime().toEpochMillis()));
+                    Long droppedAt = context.pendingDrops.remove(entryPath);
+                    if (droppedAt != null) {
+                        context.detectionLatencies.add(listedAt - droppedAt);
+                    }
+                }
+            }
+            invokeAll(subTasks);
+        }
+    }
+
+    /**
+     * Drops small files under the walked tree on its own connection, DROPS_PER_DIR files per subdirectory,
+     * and remembers when each file became visible on the share.
+     */
+    private static final class Dropper implements Runnable {
+        private final SMBShareConnection connection;
+        private final String dropRoot;
+        private final Map<String, Long> pendingDrops = new ConcurrentHashMap<>();
+        private volatile boolean running = true;
+        private Thread thread;
+        private int dropped = 0;
+
+        private Dropper(SMBShareConnection connection, String dropRoot) {
+            this.connection = connection;
+            this.dropRoot = dropRoot;
+        }
+
+        private void start() {
+            thread = new Thread(this, "smbp-poller-dropper");
+            thread.setDaemon(true);
+            thread.start();
+        }
+
+        private void stop() {
+            // Not interrupted, an interrupt in the middle of an SMB request would break the shared connection
+            running = false;
+            if (thread != null) {
+                try {
+                    thread.join();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+
+        @Override
+        public void run() {
+            DiskShare share = connection.getShare();
+            try {
+                while (running) {
+                    String dropDir = SMBPathUtils.childPath(dropRoot, "batch_" + (dropped / DROPS_PER_DIR));
+                    if (dropped % DROPS_PER_DIR == 0) {
+                        share.mkdir(dropDir);
+                    }
+                    String dropPath = SMBPathUtils.childPath(dropDir, "drop_" + dropped + ".txt");
+                    // A walk may list the drop as soon as it is created, so its drop time must already be known
+                    pendingDrops.put(dropPath, System.currentTimeMillis());
+                    try (File file = share.openFile(dropPath,
+                            EnumSet.of(AccessMask.GENERIC_WRITE),
+                            EnumSet.of(FileAttributes.FILE_ATTRIBUTE_NORMAL),
+                            SMB2ShareAccess.ALL,
+                            SMB2CreateDisposition.FILE_CREATE,
+                            EnumSet.of(SMB2CreateOptions.FILE_NON_DIRECTORY_FILE))) {
+                        file.write(DROP_CONTENT, 0);
+                    }
+                    dropped++;
+                    Thread.sleep(DROP_INTERVAL);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (Exception e) {
+                if (running) {
+                    logger.error("Dropper stopped unexpectedly: " + e.getMessage(), e);
+                }
+            }
+            logger.debug("Dropper created " + dropped + " files, " + pendingDrops.size() + " not yet detected");
+        }
+
+        private void prepare() {
+            SMBPathUtils.recreateDirectory(connection.getShare(), dropRoot);
+        }
+
+        private void cleanup() {
+            SMBPathUtils.removeDirectory(connection.getShare(), dropRoot);
+        }
+    }
+}
@@ -0,0 +1,263 @@
+package com.asm.b2btools.smbp.workload;
+
+import com.asm.b2btools.smbp.exception.SMBPException;
+import com.asm.b2btools.smbp.model.RampLevelStats;
+import com.asm.b2btools.smbp.model.SMBConfig;
+import com.asm.b2btools.smbp.model.SMBStats;
+import com.asm.b2btools.smbp.utils.SMBUtils;
+import com.asm.b2btools.smbp.utils.SMBUtilsV1;
+import com.asm.b2btools.smbp.utils.StatsUtils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * The RampWorkload class looks for the concurrency level at which the target share stops scaling.
+ * It runs smbp.ramp.operation from an increasing number of client threads, doubling the concurrency while throughput
+ * keeps growing, and bisects between the last good level and the first bad one once throughput flattens or the p99
+ * latency or the error rate crosses the configured SLO. Each level is held for measurement windows until two
+ * consecutive windows agree on throughput. The highest good level is stored in SMBConfig as the recommended max
+ * concurrency.
+ * @since 19-10-2026
+ */
+public class RampWorkload {
+
+    private static final Logger logger = LoggerFactory.getLogger(RampWorkload.class);
+
+    private static final String OPERATION = System.getProperty("smbp.ramp.operation", "exists");
+    private static final int START_CONCURRENCY = Integer.getInteger("smbp.ramp.start", 1);
+    private static final int MAX_CONCURRENCY = Integer.getInteger("smbp.ramp.max", 256);
+    private static final long WINDOW = Long.getLong("smbp.ramp.window_ms", 5000L);
+    private static final int MAX_WINDOWS = Integer.getInteger("smbp.ramp.max_windows", 6);
+    private static final double STABILITY = Integer.getInteger("smbp.ramp.stability_pct", 10) / 100.0;
+    private static final double MIN_GAIN = Integer.getInteger("smbp.ramp.min_gain_pct", 10) / 100.0;
+    private static final long SLO_P99 = Long.getLong("smbp.ramp.slo_p99_ms", 1000L);
+    private static final double MAX_ERROR_RATE = Integer.getInteger("smbp.ramp.max_error_pct", 0) / 100.0;
+
+    // A worker whose calls keep failing waits between attempts, doubling the pause up to the maximum
+    private static final long MIN_BACKOFF = 50L;
+    private static final long MAX_BACKOFF = 5000L;
+
+    /**
+     * Ramps up the concurrency until the saturation knee is found and records the recommended max concurrency.
+     * @param smbConfig The SMB configuration, updated with the recommended max concurrency.
+     * @param version The version of the target SMB server.
+     * @return A RampLevelStats object per measured level, in the order they were measured.
+     * @throws SMBPException Thrown if the ramp is interrupted or smbp.ramp.start is not greater than 0.
+     */
+    public static List<RampLevelStats> run(SMBConfig smbConfig, String version) throws SMBPException {
+        logger.debug("ENTRY -> RampWorkload.run()");
+        if (START_CONCURRENCY <= 0) {
+            throw new SMBPException("smbp.ramp.start must be greater than 0, got " + START_CONCURRENCY);
+        }
+        List<RampLevelStats> levels = new ArrayList<>();
+        try {
+            RampLevelStats good = null;
+            RampLevelStats bad = null;
+            int concurrency = START_CONCURRENCY;
+            while (concurrency <= MAX_CONCURRENCY) {
+                RampLevelStats level = runLevel(smbConfig, version, concurrency);
+                levels.add(level);
+                if (!isBetter(level, good)) {
+                    bad = level;
+                    break;
+                }
+                good = level;
+                concurrency *= 2;
+            }
+
+            // Bisect between the last level that scaled and the first one that did not
+            if (good != null && bad != null) {
+                int low = good.getConcurrency();
+                int high = bad.getConcurrency();
+                while (high - low > 1) {
+                    int mid = (low + high) / 2;
+                    RampLevelStats level = runLevel(smbConfig, version, mid);
+                    levels.add(level);
+                    if (isBetter(level, good)) {
+                        good = level;
+                        low = mid;
+                    } else {
+                        high = mid;
+                    }
+                }
+            }
+
+            int recommended = good != null ? good.getConcurrency() : START_CONCURRENCY;
+            if (good == null) {
+                logger.warn("Even the starting concurrency of " + START_CONCURRENCY + " misses the p99 SLO of " + SLO_P99 + "ms or the error rate SLO of " + Math.round(MAX_ERROR_RATE * 100) + "%");
+            }
+            smbConfig.setRECOMMENDED_MAX_CONCURRENCY(recommended);
+            logger.info("Recommended max concurrency for " + smbConfig.getSERVER_ADDRESS() + "/" + smbConfig.getSHARE_NAME() + ": " + recommended);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SMBPException("Ramp workload interrupted", e);
+        }
+        logger.debug("EXIT -> RampWorkload.run()");
+        return levels;
+    }
+
+    /**
+     * Checks if a level is within the p99 and error rate SLOs and scales over the reference level. Scaling requires a throughput gain of
+     * smbp.ramp.min_gain_pct for a doubling of concurrency, and a proportional share of it for smaller steps.
+     * @param level The level to check.
+     * @param reference The last good level, or null for the first level.
+     * @return True if the level is better than the reference.
+     */
+    private static boolean isBetter(RampLevelStats level, RampLevelStats reference) {
+        if (level.getP99_latency() > SLO_P99 || level.getOperations() == 0 || level.getError_rate() > MAX_ERROR_RATE) {
+            return false;
+        }
+        if (reference == null) {
+            return true;
+        }
+        double step = (level.getConcurrency() - reference.getConcurrency()) / (double) reference.getConcurrency();
+        return level.getThroughput() >= reference.getThroughput() * (1 + MIN_GAIN * step);
+    }
+
+    /**
+     * Runs the operation from the given number of threads until throughput is stable or smbp.ramp.max_windows
+     * windows have passed. Throughput, latency and errors are taken from the last two windows; throughput counts
+     * the successful calls only, latency includes the failed ones.
+     */
+    private static RampLevelStats runLevel(SMBConfig smbConfig, String version, int concurrency) throws InterruptedException {
+        logger.debug("Ramping to concurrency " + concurrency);
+        AtomicReference<Window> currentWindow = new AtomicReference<>(new Window());
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+        RampWorker worker = new RampWorker(smbConfig, version, currentWindow);
+        for (int i = 0; i < concurrency; i++) {
+            workers.submit(worker);
+        }
+
+        List<Window> windows = new ArrayList<>();
+        boolean stable = false;
+        try {
+            while (windows.size() < MAX_WINDOWS && !stable) {
+                Thread.sleep(WINDOW);
+                windows.add(currentWindow.getAndSet(new Window()));
+                int count = windows.size();
+                if (count >= 2) {
+                    double previous = windows.get(count - 2).successes();
+                    double last = windows.get(count - 1).successes();
+                    stable = previous > 0 && Math.abs(last - previous) / previous <= STABILITY;
+                }
+            }
+        } finally {
+            worker.running = false;
+            workers.shutdown();
+            // Let in-flight operations finish so they do not leak into the next level
+            if (!workers.awaitTermination(Math.max(WINDOW, SLO_P99 * 10), TimeUnit.MILLISECONDS)) {
+                workers.shutdownNow();
+            }
+        }
+
+        List<Long> latencies = new ArrayList<>();
+        long errors = 0L;
+        int measured = Math.min(2, windows.size());
+        for (Window window : windows.subList(windows.size() - measured, windows.size())) {
+            latencies.addAll(window.latencies);
+            errors += window.errors.get();
+        }
+        long operations = latencies.size() - errors;
+        RampLevelStats level = new RampLevelStats(concurrency);
+        level.setWindows(windows.size());
+        level.setStable(stable);
+        level.setOperations(operations);
+        level.setErrors(errors);
+        level.setThroughput(operations * 1000.0 / (measured * WINDOW));
+        level.setAvg_latency(StatsUtils.average(latencies));
+        level.setP50_latency(StatsUtils.percentile(latencies, 50));
+        level.setP99_latency(StatsUtils.percentile(latencies, 99));
+        logger.debug("Level completed: " + level);
+        return level;
+    }
+
+    /**
+     * The latency of every call made during one measurement window and the number of those calls that failed.
+     */
+    private static final class Window {
+        private final Queue<Long> latencies = new ConcurrentLinkedQueue<>();
+        private final AtomicLong errors = new AtomicLong();
+
+        private long successes() {
+            return latencies.size() - errors.get();
+        }
+    }
+
+    /**
+     * Runs the configured operation in a loop and records the latency of every call, and every failure, in the
+     * current window. Consecutive failures back off exponentially so a failing share is not flooded with calls.
+     */
+    private static final class RampWorker implements Runnable {
+        private final SMBConfig smbConfig;
+        private final boolean smbV1;
+        private final AtomicReference<Window> currentWindow;
+        private volatile boolean running = true;
+
+        private RampWorker(SMBConfig smbConfig, String version, AtomicReference<Window> currentWindow) {
+            this.smbConfig = smbConfig;
+            this.smbV1 = version.equalsIgnoreCase("v1");
+            this.currentWindow = currentWindow;
+        }
+
+        @Override
+        public void run() {
+            long backoff = 0L;
+            while (running) {
+                long startTime = System.currentTimeMillis();
+                boolean failed = false;
+                try {
+                    runOperation(new SMBStats());
+                } catch (SMBPException e) {
+                    failed = true;
+                }
+                Window window = currentWindow.get();
+                window.latencies.add(System.currentTimeMillis() - startTime);
+                if (!failed) {
+                    backoff = 0L;
+                    continue;
+                }
+                window.errors.incrementAndGet();
+                backoff = backoff == 0L ? MIN_BACKOFF : Math.min(backoff * 2, MAX_BACKOFF);
+                try {
+                    Thread.sleep(backoff);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+
+        private void runOperation(SMBStats smbStats) throws SMBPException {
+            if (OPERATION.equalsIgnoreCase("isDirectory")) {
+                if (smbV1) {
+                    SMBUtilsV1.isDirectory(smbConfig, smbStats);
+                } else {
+                    SMBUtils.isDirectory(smbConfig, smbStats);
+                }
+            } else if (OPERATION.equalsIgnoreCase("length")) {
+                if (smbV1) {
+                    SMBUtilsV1.length(smbConfig, smbStats);
+                } else {
+                    SMBUtils.length(smbConfig, smbStats);
+                }
+            } else {
+                if (smbV1) {
+                    SMBUtilsV1.exists(smbConfig, smbStats);
+                } else {
+                    SMBUtils.exists(smbConfig, smbStats);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,267 @@
+package com.asm.b2btools.smbp.workload;
+
+import com.asm.b2btools.smbp.exception.SMBPException;
+import com.asm.b2btools.smbp.model.SMBConfig;
+import com.asm.b2btools.smbp.model.WatchStats;
+import com.asm.b2btools.smbp.utils.RoundTripCounter;
+import com.asm.b2btools.smbp.utils.SMBPathUtils;
+import com.asm.b2btools.smbp.utils.SMBShareConnection;
+import com.asm.b2btools.smbp.utils.StatsUtils;
+import com.hierynomus.msdtyp.AccessMask;
+import com.hierynomus.mserref.NtStatus;
+import com.hierynomus.msfscc.FileAttributes;
+import com.hierynomus.msfscc.FileNotifyAction;
+import com.hierynomus.msfscc.directory.FileNotifyInformation;
+import com.hierynomus.msfscc.fileinformation.FileIdBothDirectoryInformation;
+import com.hierynomus.mssmb2.SMB2CompletionFilter;
+import com.hierynomus.mssmb2.SMB2CreateDisposition;
+import com.hierynomus.mssmb2.SMB2CreateOptions;
+import com.hierynomus.mssmb2.SMB2ShareAccess;
+import com.hierynomus.mssmb2.messages.SMB2ChangeNotifyResponse;
+import com.hierynomus.smbj.share.Directory;
+import com.hierynomus.smbj.share.DiskShare;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * The WatchWorkload class compares SMB2 CHANGE_NOTIFY against polling with DiskShare.list() for detecting new files.
+ * For each mode a companion writer thread creates files in bursts in a dedicated directory under smb.dir_name,
+ * while the detecting side measures how long it takes to see each file and how many requests it sends to the server.
+ * In CHANGE_NOTIFY mode an overflowed notification (STATUS_NOTIFY_ENUM_DIR) is counted and followed by a listing
+ * of the directory, as a real watcher would have to do to resynchronise.
+ * @since 19-10-2026
+ */
+public class WatchWorkload {
+
+    private static final Logger logger = LoggerFactory.getLogger(WatchWorkload.class);
+
+    private static final int FILES = Integer.getInteger("smbp.watch.files", 200);
+    private static final int BURST_SIZE = Integer.getInteger("smbp.watch.burst_size", 50);
+    private static final long BURST_INTERVAL = Long.getLong("smbp.watch.burst_interval_ms", 1000L);
+    private static final long POLL_INTERVAL = Long.getLong("smbp.watch.poll_interval_ms", 500L);
+    private static final long GRACE_PERIOD = Long.getLong("smbp.watch.grace_ms", 5000L);
+    private static final boolean CLEANUP = Boolean.parseBoolean(System.getProperty("smbp.watch.cleanup", "true"));
+
+    private static final String NOTIFY_DIR_NAME = "smbp_watch_notify";
+    private static final String POLL_DIR_NAME = "smbp_watch_poll";
+    private static final long WAIT_STEP = 100L;
+    private static final Set<SMB2CompletionFilter> COMPLETION_FILTER = EnumSet.of(SMB2CompletionFilter.FILE_NOTIFY_CHANGE_FILE_NAME);
+
+    /**
+     * Runs the CHANGE_NOTIFY mode followed by the polling mode.
+     * @param smbConfig The SMB configuration.
+     * @return A WatchStats object per mode.
+     * @throws SMBPException Thrown if an unexpected SMB exception occurs.
+     */
+    public static List<WatchStats> run(SMBConfig smbConfig) throws SMBPException {
+        logger.debug("ENTRY -> WatchWorkload.run()");
+        String rootPath = SMBPathUtils.rootPath(smbConfig);
+        List<WatchStats> watchStats = new ArrayList<>();
+        try (SMBShareConnection writerConnection = SMBShareConnection.open(smbConfig)) {
+            String notifyDir = SMBPathUtils.childPath(rootPath, NOTIFY_DIR_NAME);
+            String pollDir = SMBPathUtils.childPath(rootPath, POLL_DIR_NAME);
+            try {
+                watchStats.add(runNotify(smbConfig, writerConnection.getShare(), notifyDir));
+                watchStats.add(runPolling(smbConfig, writerConnection.getShare(), pollDir));
+            } finally {
+                if (CLEANUP) {
+                    SMBPathUtils.removeDirectory(writerConnection.getShare(), notifyDir);
+                    SMBPathUtils.removeDirectory(writerConnection.getShare(), pollDir);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SMBPException("Watch workload interrupted", e);
+        } catch (Exception e) {
+            logger.error(e.getMessage(), e);
+            throw new SMBPException(e);
+        }
+        logger.debug("EXIT -> WatchWorkload.run()");
+        return watchStats;
+    }
+
+    /**
+     * Detects the writer's files through CHANGE_NOTIFY requests on an open directory handle.
+     * A new request is sent as soon as the previous one completes, the server buffers changes in between.
+     */
+    private static WatchStats runNotify(SMBConfig smbConfig, DiskShare writerShare, String watchDir) throws Exception {
+        SMBPathUtils.recreateDirectory(writerShare, watchDir);
+        WatchStats stats = new WatchStats("CHANGE_NOTIFY");
+        List<Long> latencies = new ArrayList<>();
+        RoundTripCounter counter = new RoundTripCounter();
+        try (SMBShareConnection connection = SMBShareConnection.open(smbConfig, counter.newClient());
+             Directory directory = connection.getShare().openDirectory(watchDir,
+                     EnumSet.of(AccessMask.FILE_LIST_DIRECTORY, AccessMask.FILE_READ_ATTRIBUTES),
+                     null,
+                     SMB2ShareAccess.ALL,
+                     SMB2CreateDisposition.FILE_OPEN,
+                     null)) {
+            counter.reset();
+            Future<SMB2ChangeNotifyResponse> notification = directory.watchAsync(COMPLETION_FILTER, false);
+            BurstWriter writer = new BurstWriter(writerShare, watchDir);
+            long startTime = System.currentTimeMillis();
+            writer.start();
+            long overflows = 0L;
+            long responses = 0L;
+            while (!writer.isFinished()) {
+                SMB2ChangeNotifyResponse response;
+                try {
+                    response = notification.get(WAIT_STEP, TimeUnit.MILLISECONDS);
+                } catch (TimeoutException e) {
+                    continue;
+                }
+                long receivedAt = System.currentTimeMillis();
+                responses++;
+                if (response.getHeader().getStatusCode() == NtStatus.STATUS_NOTIFY_ENUM_DIR.getValue()) {
+                    // The server dropped the buffered changes, only a full listing can tell what was added
+                    overflows++;
+                    notification = directory.watchAsync(COMPLETION_FILTER, false);
+                    detectFromListing(connection.getShare(), watchDir, writer, new HashSet<String>(), latencies);
+                    continue;
+                }
+                notification = directory.watchAsync(COMPLETION_FILTER, false);
+                for (FileNotifyInformation info : response.getFileNotifyInfoList()) {
+                    if (info.getAction() == FileNotifyAction.FILE_ACTION_ADDED
+                            || info.getAction() == FileNotifyAction.FILE_ACTION_RENAMED_NEW_NAME) {
+                        Long createdAt = writer.pendingFiles.remove(info.getFileName());
+                        if (createdAt != null) {
+                            latencies.add(receivedAt - createdAt);
+                        }
+                    }
+                }
+            }
+            stats.setTime_taken(System.currentTimeMillis() - startTime);
+            stats.setRequests(counter.getRequests());
+            stats.setOverflow_events(overflows);
+            stats.setDetection_passes(responses);
+            fillStats(stats, writer, latencies);
+        }
+        logger.debug("CHANGE_NOTIFY mode completed: " + stats);
+        return stats;
+    }
+
+    /**
+     * Detects the writer's files by listing the directory every smbp.watch.poll_interval_ms.
+     */
+    private static WatchStats runPolling(SMBConfig smbConfig, DiskShare writerShare, String watchDir) throws Exception {
+        SMBPathUtils.recreateDirectory(writerShare, watchDir);
+        WatchStats stats = new WatchStats("POLLING");
+        List<Long> latencies = new ArrayList<>();
+        RoundTripCounter counter = new RoundTripCounter();
+        try (SMBShareConnection connection = SMBShareConnection.open(smbConfig, counter.newClient())) {
+            counter.reset();
+            BurstWriter writer = new BurstWriter(writerShare, watchDir);
+            long startTime = System.currentTimeMillis();
+            writer.start();
+            Set<String> knownFiles = new HashSet<>();
+            long polls = 0L;
+            while (!writer.isFinished()) {
+                detectFromListing(connection.getShare(), watchDir, writer, knownFiles, latencies);
+                polls++;
+                Thread.sleep(POLL_INTERVAL);
+            }
+            stats.setTime_taken(System.currentTimeMillis() - startTime);
+            stats.setRequests(counter.getRequests());
+            stats.setDetection_passes(polls);
+            fillStats(stats, writer, latencies);
+        }
+        logger.debug("Polling mode completed: " + stats);
+        return stats;
+    }
+
+    /**
+     * Lists the directory and records the detection latency of every pending file found in it.
+     */
+    private static void detectFromListing(DiskShare share, String watchDir, BurstWriter writer, Set<String> knownFiles, List<Long> latencies) {
+        List<FileIdBothDirectoryInformation> entries = share.list(watchDir);
+        long listedAt = System.currentTimeMillis();
+        for (FileIdBothDirectoryInformation entry : entries) {
+            if (knownFiles.add(entry.getFileName())) {
+                Long createdAt = writer.pendingFiles.remove(entry.getFileName());
+                if (createdAt != null) {
+                    latencies.add(listedAt - createdAt);
+                }
+            }
+        }
+    }
+
+    private static void fillStats(WatchStats stats, BurstWriter writer, List<Long> latencies) {
+        stats.setFiles_created(writer.created);
+        stats.setFiles_detected(latencies.size());
+        stats.setMissed_files(writer.pendingFiles.size());
+        stats.setAvg_detection_latency(StatsUtils.average(latencies));
+        stats.setP99_detection_latency(StatsUtils.percentile(latencies, 99));
+        stats.setMax_detection_latency(StatsUtils.percentile(latencies, 100));
+    }
+
+    /**
+     * Creates smbp.watch.files files in bursts of smbp.watch.burst_size and remembers when each one was created.
+     * The writer counts as finished once every file is detected, or smbp.watch.grace_ms after the last burst.
+     */
+    private static final class BurstWriter implements Runnable {
+        private final DiskShare share;
+        private final String watchDir;
+        private final Map<String, Long> pendingFiles = new ConcurrentHashMap<>();
+        private volatile int created = 0;
+        private volatile long finishedAt = Long.MAX_VALUE;
+        private Thread thread;
+
+        private BurstWriter(DiskShare share, String watchDir) {
+            this.share = share;
+            this.watchDir = watchDir;
+        }
+
+        private void start() {
+            thread = new Thread(this, "smbp-watch-writer");
+            thread.setDaemon(true);
+            thread.start();
+        }
+
+        private boolean isFinished() {
+            if (finishedAt == Long.MAX_VALUE) {
+                return false;
+            }
+            return pendingFiles.isEmpty() || System.currentTimeMillis() > finishedAt + GRACE_PERIOD;
+        }
+
+        @Override
+        public void run() {
+            try {
+                while (created < FILES) {
+                    for (int i = 0; i < BURST_SIZE && created < FILES; i++) {
+                        String fileName = "watch_" + created + ".txt";
+                        // The notification can arrive before openFile returns, so the file must already be pending
+                        pendingFiles.put(fileName, System.currentTimeMillis());
+                        share.openFile(SMBPathUtils.childPath(watchDir, fileName),
+                                EnumSet.of(AccessMask.GENERIC_WRITE),
+                                EnumSet.of(FileAttributes.FILE_ATTRIBUTE_NORMAL),
+                                SMB2ShareAccess.ALL,
+                                SMB2CreateDisposition.FILE_CREATE,
+                                EnumSet.of(SMB2CreateOptions.FILE_NON_DIRECTORY_FILE)).close();
+                        logger.trace("Created " + fileName);
+                        created++;
+                    }
+                    Thread.sleep(BURST_INTERVAL);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (Exception e) {
+                logger.error("Writer stopped unexpectedly: " + e.getMessage(), e);
+            } finally {
+                finishedAt = System.currentTimeMillis();
+            }
+        }
+    }
+}